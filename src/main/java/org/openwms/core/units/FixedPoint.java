@@ -0,0 +1,147 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units;
+
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+import org.openwms.core.units.api.MetricDimensionUnit;
+import org.openwms.core.units.api.PieceUnit;
+import org.openwms.core.units.api.VolumeUnit;
+import org.openwms.core.units.api.WeightUnit;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+import static java.lang.String.format;
+
+/**
+ * A FixedPoint converts {@link Measurable}s into primitive {@code long} values and back. A fixed-point value is the magnitude in the base
+ * unit of the dimension multiplied by {@literal 10^}{@value #SCALE}, that is a count of milligrams for weights, of millimeters for metric
+ * dimensions, of cubic millimeters for volumes and of thousandths of a piece for pieces. Fixed-point values of the same dimension can be
+ * added and compared without allocation.
+ *
+ * @author Heiko Scherrer
+ */
+public final class FixedPoint {
+
+    /** Number of decimal places of the base unit a fixed-point value keeps: {@value} */
+    public static final int SCALE = 3;
+
+    private static final long[] PIECE_FACTORS = factors(PieceUnit.values());
+    private static final long[] WEIGHT_FACTORS = factors(WeightUnit.values());
+    private static final long[] METRIC_DIMENSION_FACTORS = factors(MetricDimensionUnit.values());
+    private static final long[] VOLUME_FACTORS = factors(VolumeUnit.values());
+
+    private FixedPoint() {}
+
+    private static long[] factors(BaseUnit<?>[] units) {
+        var result = new long[units.length];
+        for (var i = 0; i < units.length; i++) {
+            result[i] = MeasurableMath.factorOf(units[i]).movePointRight(SCALE).longValueExact();
+        }
+        return result;
+    }
+
+    /**
+     * Return the fixed-point value of one {@code unit}, e.g. {@literal 1_000_000} for {@code KG} or {@literal 12_000} for {@code DOZ}.
+     *
+     * @param unit The unit
+     * @return The fixed-point factor
+     * @throws IllegalArgumentException if the unit is not supported
+     */
+    public static long factorOf(BaseUnit<?> unit) {
+        return switch (unit) {
+            case PieceUnit pieceUnit -> PIECE_FACTORS[pieceUnit.ordinal()];
+            case WeightUnit weightUnit -> WEIGHT_FACTORS[weightUnit.ordinal()];
+            case MetricDimensionUnit metricDimensionUnit -> METRIC_DIMENSION_FACTORS[metricDimensionUnit.ordinal()];
+            case VolumeUnit volumeUnit -> VOLUME_FACTORS[volumeUnit.ordinal()];
+            case null -> throw new IllegalArgumentException("unit is null");
+            default -> throw new IllegalArgumentException(format("Unit type not supported [%s]", unit.name()));
+        };
+    }
+
+    /**
+     * Convert a {@link Measurable} into its fixed-point value.
+     *
+     * @param measurable The Measurable to convert
+     * @return The fixed-point value
+     * @throws ArithmeticException if the magnitude is finer than the fixed-point resolution or exceeds the {@code long} range
+     */
+    public static long toFixed(Measurable<?, ?, ?> measurable) {
+        return toFixed(MeasurableMath.magnitudeOf(measurable), measurable.getUnitType());
+    }
+
+    /**
+     * Convert a {@link Measurable} into its fixed-point value and round magnitudes finer than the fixed-point resolution.
+     *
+     * @param measurable The Measurable to convert
+     * @param roundingMode How to round
+     * @return The fixed-point value
+     * @throws ArithmeticException if the magnitude exceeds the {@code long} range
+     */
+    public static long toFixed(Measurable<?, ?, ?> measurable, RoundingMode roundingMode) {
+        return MeasurableMath.magnitudeOf(measurable)
+                .multiply(BigDecimal.valueOf(factorOf(measurable.getUnitType())))
+                .setScale(0, roundingMode)
+                .longValueExact();
+    }
+
+    /**
+     * Convert a magnitude given in {@code unit} into its fixed-point value.
+     *
+     * @param magnitude The magnitude
+     * @param unit The unit of the magnitude
+     * @return The fixed-point value
+     * @throws ArithmeticException if the magnitude is finer than the fixed-point resolution or exceeds the {@code long} range
+     */
+    public static long toFixed(BigDecimal magnitude, BaseUnit<?> unit) {
+        var factor = factorOf(unit);
+        if (magnitude.scale() == 0 && magnitude.precision() < 19) {
+            return Math.multiplyExact(magnitude.longValue(), factor);
+        }
+        return magnitude.multiply(BigDecimal.valueOf(factor)).longValueExact();
+    }
+
+    /**
+     * Convert a fixed-point value into a {@link Measurable} expressed in {@code unit}. Conversions that do not terminate, like one
+     * {@code PC} into {@code DOZ}, are rounded to {@link MathContext#DECIMAL128}.
+     *
+     * @param fixed The fixed-point value
+     * @param unit The unit of the result
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     */
+    public static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> E fromFixed(long fixed, T unit) {
+        return MeasurableMath.of(toMagnitude(fixed, unit), unit);
+    }
+
+    /**
+     * Convert a fixed-point value into the magnitude expressed in {@code unit}.
+     *
+     * @param fixed The fixed-point value
+     * @param unit The unit of the magnitude
+     * @return The magnitude
+     */
+    public static BigDecimal toMagnitude(long fixed, BaseUnit<?> unit) {
+        var factor = factorOf(unit);
+        if (fixed % factor == 0) {
+            return BigDecimal.valueOf(fixed / factor);
+        }
+        return MeasurableMath.normalize(BigDecimal.valueOf(fixed).divide(BigDecimal.valueOf(factor), MathContext.DECIMAL128));
+    }
+}
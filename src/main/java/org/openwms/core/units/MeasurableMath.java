@@ -0,0 +1,145 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units;
+
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+import org.openwms.core.units.api.MetricDimension;
+import org.openwms.core.units.api.MetricDimensionUnit;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.PieceUnit;
+import org.openwms.core.units.api.Volume;
+import org.openwms.core.units.api.VolumeUnit;
+import org.openwms.core.units.api.Weight;
+import org.openwms.core.units.api.WeightUnit;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+
+import static java.lang.String.format;
+
+/**
+ * A MeasurableMath offers exact arithmetic on {@link Measurable}s by normalising magnitudes to the base unit of their dimension, e.g.
+ * {@literal 2 DOZ} to {@literal 24} (PC) or {@literal 1.5 KG} to {@literal 1500} (G).
+ *
+ * @author Heiko Scherrer
+ */
+public final class MeasurableMath {
+
+    private MeasurableMath() {}
+
+    /**
+     * Return the magnitude of the given {@code unit} expressed in the base unit of its dimension.
+     *
+     * @param unit The unit, e.g. {@code KG}
+     * @return The factor, e.g. {@literal 1000}
+     * @throws IllegalArgumentException if the unit is not supported
+     */
+    public static BigDecimal factorOf(BaseUnit<?> unit) {
+        return switch (unit) {
+            case PieceUnit pieceUnit -> pieceUnit.getMagnitude();
+            case WeightUnit weightUnit -> weightUnit.getMagnitude();
+            case MetricDimensionUnit metricDimensionUnit -> metricDimensionUnit.getMagnitude();
+            case VolumeUnit volumeUnit -> volumeUnit.getMagnitude();
+            case null -> throw new IllegalArgumentException("unit is null");
+            default -> throw new IllegalArgumentException(format("Unit type not supported [%s]", unit.name()));
+        };
+    }
+
+    /**
+     * Return the magnitude of the {@code measurable} expressed in the base unit of its dimension.
+     *
+     * @param measurable The Measurable to normalise
+     * @return The exact base unit magnitude
+     */
+    public static BigDecimal toBase(Measurable<?, ?, ?> measurable) {
+        return toBase(magnitudeOf(measurable), measurable.getUnitType());
+    }
+
+    /**
+     * Return the {@code magnitude} given in {@code unit} expressed in the base unit of its dimension.
+     *
+     * @param magnitude The magnitude
+     * @param unit The unit of the magnitude
+     * @return The exact base unit magnitude
+     */
+    public static BigDecimal toBase(BigDecimal magnitude, BaseUnit<?> unit) {
+        return magnitude.multiply(factorOf(unit));
+    }
+
+    /**
+     * Create a {@link Measurable} in {@code unit} from a magnitude given in the base unit of the dimension. Conversions that do not
+     * terminate, like {@literal 1} PC into DOZ, are rounded to {@link MathContext#DECIMAL128}.
+     *
+     * @param baseMagnitude The magnitude in the base unit
+     * @param unit The unit of the result
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     */
+    public static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> E fromBase(BigDecimal baseMagnitude, T unit) {
+        return of(normalize(baseMagnitude.divide(factorOf(unit), MathContext.DECIMAL128)), unit);
+    }
+
+    /**
+     * Create a {@link Measurable} of the dimension the {@code unit} belongs to.
+     *
+     * @param magnitude The magnitude
+     * @param unit The unit of measure
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     * @throws IllegalArgumentException if the unit is not supported
+     */
+    @SuppressWarnings("unchecked")
+    public static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> E of(BigDecimal magnitude, T unit) {
+        Measurable<?, ?, ?> result = switch (unit) {
+            case PieceUnit pieceUnit -> Piece.of(magnitude, pieceUnit);
+            case WeightUnit weightUnit -> Weight.of(magnitude, weightUnit);
+            case MetricDimensionUnit metricDimensionUnit -> MetricDimension.of(magnitude, metricDimensionUnit);
+            case VolumeUnit volumeUnit -> Volume.of(magnitude, volumeUnit);
+            case null -> throw new IllegalArgumentException("unit is null");
+            default -> throw new IllegalArgumentException(format("Unit type not supported [%s]", unit.name()));
+        };
+        return (E) result;
+    }
+
+    /**
+     * Return the magnitude of the {@code measurable} as {@link BigDecimal}.
+     *
+     * @param measurable The Measurable
+     * @return The magnitude
+     */
+    public static BigDecimal magnitudeOf(Measurable<?, ?, ?> measurable) {
+        var magnitude = measurable.getMagnitude();
+        if (magnitude instanceof BigDecimal asBigDecimal) {
+            return asBigDecimal;
+        }
+        return new BigDecimal(magnitude.toString());
+    }
+
+    /**
+     * Strip trailing zeros without falling back to the scientific notation, e.g. {@literal 1.500} becomes {@literal 1.5} and
+     * {@literal 1000.0} becomes {@literal 1000}.
+     *
+     * @param value The value to normalise
+     * @return The normalised value
+     */
+    public static BigDecimal normalize(BigDecimal value) {
+        var result = value.stripTrailingZeros();
+        return result.scale() < 0 ? result.setScale(0) : result;
+    }
+}
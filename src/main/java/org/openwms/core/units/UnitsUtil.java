@@ -21,6 +21,8 @@ import org.openwms.core.units.api.MetricDimension;
 import org.openwms.core.units.api.MetricDimensionUnit;
 import org.openwms.core.units.api.Piece;
 import org.openwms.core.units.api.PieceUnit;
+import org.openwms.core.units.api.Volume;
+import org.openwms.core.units.api.VolumeUnit;
 import org.openwms.core.units.api.Weight;
 import org.openwms.core.units.api.WeightUnit;
 
@@ -38,9 +40,16 @@ public final class UnitsUtil {
 
     private UnitsUtil() {}
 
+    /**
+     * Sum up all {@link Piece}s of the given stream exactly.
+     *
+     * @param pieceStream The stream of Pieces
+     * @return The total amount of pieces in {@link PieceUnit#PC}
+     * @see org.openwms.core.units.stats.MeasurableCollectors
+     */
     public static BigDecimal sumPieces(Stream<Piece> pieceStream) {
         return pieceStream
-                .map(s -> BigDecimal.valueOf(s.getMagnitude().floatValue()))
+                .map(MeasurableMath::toBase)
                 .reduce(BigDecimal.ZERO, BigDecimal::add);
     }
 
@@ -55,6 +64,8 @@ public final class UnitsUtil {
             return Weight.of(quantity, WeightUnit.valueOf(unitType));
         } else if (MetricDimension.class.getCanonicalName().equals(unitTypeClass)) {
             return MetricDimension.of(quantity, MetricDimensionUnit.M);
+        } else if (Volume.class.getCanonicalName().equals(unitTypeClass)) {
+            return Volume.of(quantity, VolumeUnit.valueOf(unitType));
         }
         throw new TypeMismatchException(format("Incompatible type: [%s]", unitTypeClass));
     }
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.allocation;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.MeasurableMath;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * An Allocation splits a quantity into parts, evenly or proportionally to ratios, e.g. to distribute {@literal 100 PC} over three orders
+ * or {@literal 10 KG} over totes by their free capacity. Parts are whole numbers of a chosen unit and always sum up exactly to the original
+ * quantity: the share of each part is rounded down and the remaining units go one by one to the parts with the largest remainders
+ * (largest remainder method), ties go to the earlier part.
+ * <p>
+ * All calculations are done on {@code long} counts of the chosen unit, the {@code *Fixed} methods expose them for batches.
+ * </p>
+ *
+ * @author Heiko Scherrer
+ */
+public final class Allocation {
+
+    private Allocation() {}
+
+    /**
+     * Split a quantity into {@code parts} parts that differ by at most one unit, the larger parts first.
+     *
+     * @param quantity The quantity to split
+     * @param parts The number of parts
+     * @param unit The unit of the parts, the quantity must be a whole number of it
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The parts in {@code unit}
+     */
+    public static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> List<E> split(Measurable<BigDecimal, E, T> quantity,
+            int parts, T unit) {
+        var result = new long[parts];
+        splitFixed(toUnits(quantity, unit), result);
+        return toMeasurables(result, unit);
+    }
+
+    /**
+     * Allocate a quantity proportionally to {@code ratios}.
+     *
+     * @param quantity The quantity to allocate
+     * @param unit The unit of the parts, the quantity must be a whole number of it
+     * @param ratios One non-negative ratio per part
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The parts in {@code unit}
+     */
+    public static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> List<E> allocate(Measurable<BigDecimal, E, T> quantity,
+            T unit, long... ratios) {
+        var result = new long[ratios.length];
+        allocateFixed(toUnits(quantity, unit), ratios, result);
+        return toMeasurables(result, unit);
+    }
+
+    /**
+     * Allocate a quantity proportionally to other quantities, e.g. stock proportionally to the demand of orders.
+     *
+     * @param quantity The quantity to allocate
+     * @param unit The unit of the parts, the quantity must be a whole number of it
+     * @param ratios One non-negative quantity per part, all of one dimension
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The parts in {@code unit}
+     */
+    public static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> List<E> allocate(Measurable<BigDecimal, E, T> quantity,
+            T unit, List<? extends Measurable<?, ?, ?>> ratios) {
+        var fixed = new long[ratios.size()];
+        for (var i = 0; i < fixed.length; i++) {
+            var ratio = ratios.get(i);
+            if (i > 0 && ratio.getUnitType().getBaseUnit() != ratios.get(0).getUnitType().getBaseUnit()) {
+                throw new IllegalArgumentException(format("All ratios must be of one dimension [%s]", ratios));
+            }
+            fixed[i] = FixedPoint.toFixed(ratio);
+        }
+        return allocate(quantity, unit, fixed);
+    }
+
+    /**
+     * Split a count into parts that differ by at most one, the larger parts first, without allocation.
+     *
+     * @param total The count to split
+     * @param result Receives the parts, its length is the number of parts
+     */
+    public static void splitFixed(long total, long[] result) {
+        if (total < 0 || result.length == 0) {
+            throw new IllegalArgumentException(format("Cannot split [%d] into [%d] parts", total, result.length));
+        }
+        var share = total / result.length;
+        var remainder = total % result.length;
+        for (var i = 0; i < result.length; i++) {
+            result[i] = i < remainder ? share + 1 : share;
+        }
+    }
+
+    /**
+     * Allocate a count proportionally to {@code ratios} with the largest remainder method.
+     *
+     * @param total The count to allocate
+     * @param ratios One non-negative ratio per part, at least one must be positive
+     * @param result Receives the parts, must be at least as long as {@code ratios}
+     * @throws ArithmeticException if a product of the total and a ratio exceeds the {@code long} range
+     */
+    public static void allocateFixed(long total, long[] ratios, long[] result) {
+        if (total < 0) {
+            throw new IllegalArgumentException(format("total must not be negative [%d]", total));
+        }
+        var sum = 0L;
+        for (var ratio : ratios) {
+            if (ratio < 0) {
+                throw new IllegalArgumentException(format("Ratios must not be negative %s", Arrays.toString(ratios)));
+            }
+            sum = Math.addExact(sum, ratio);
+        }
+        if (sum == 0) {
+            throw new IllegalArgumentException("At least one ratio must be positive");
+        }
+        var remainders = new long[ratios.length];
+        var left = total;
+        for (var i = 0; i < ratios.length; i++) {
+            var product = Math.multiplyExact(total, ratios[i]);
+            result[i] = product / sum;
+            remainders[i] = product % sum;
+            left -= result[i];
+        }
+        if (left == 0) {
+            return;
+        }
+        // the left over units go to the parts with the largest remainders, ties to the earlier part
+        var sorted = remainders.clone();
+        Arrays.sort(sorted);
+        var threshold = sorted[sorted.length - (int) left];
+        for (var i = 0; i < ratios.length && left > 0; i++) {
+            if (remainders[i] > threshold) {
+                result[i]++;
+                left--;
+            }
+        }
+        for (var i = 0; i < ratios.length && left > 0; i++) {
+            if (remainders[i] == threshold) {
+                result[i]++;
+                left--;
+            }
+        }
+    }
+
+    private static long toUnits(Measurable<?, ?, ?> quantity, BaseUnit<?> unit) {
+        if (quantity == null || unit == null) {
+            throw new IllegalArgumentException("quantity and unit must not be null");
+        }
+        var fixed = FixedPoint.toFixed(quantity);
+        var factor = FixedPoint.factorOf(unit);
+        if (fixed % factor != 0) {
+            throw new IllegalArgumentException(format("Quantity [%s] is not a whole number of [%s]", quantity, unit.name()));
+        }
+        return fixed / factor;
+    }
+
+    private static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> List<E> toMeasurables(long[] units, T unit) {
+        var result = new ArrayList<E>(units.length);
+        for (var count : units) {
+            result.add(MeasurableMath.of(BigDecimal.valueOf(count), unit));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,291 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.api;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Objects;
+
+import static java.lang.String.format;
+
+/**
+ * A Dimension is the length, width and height of a box, like an item, a carton or a bin, each a {@link MetricDimension}. The edges are also
+ * kept as whole millimeters, both in the given and in ascending order, so that fit checks compare primitive values only. An item fits into
+ * a bin in any of its six orientations if its sorted edges are each not longer than the sorted edges of the bin.
+ *
+ * @author Heiko Scherrer
+ */
+public final class Dimension implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    private final MetricDimension length;
+    private final MetricDimension width;
+    private final MetricDimension height;
+    /** Length, width and height in millimeters. */
+    private final long[] edges;
+    /** Edges in millimeters in ascending order. */
+    private final long[] sorted;
+
+    private Dimension(MetricDimension length, MetricDimension width, MetricDimension height) {
+        this.length = length;
+        this.width = width;
+        this.height = height;
+        this.edges = new long[]{toMillimeters(length), toMillimeters(width), toMillimeters(height)};
+        this.sorted = edges.clone();
+        Arrays.sort(sorted);
+    }
+
+    /**
+     * Create a new Dimension.
+     *
+     * @param length The length
+     * @param width The width
+     * @param height The height
+     * @return The new instance
+     * @throws IllegalArgumentException if an edge is {@literal null} or negative
+     * @throws ArithmeticException if an edge is finer than a millimeter
+     */
+    public static Dimension of(MetricDimension length, MetricDimension width, MetricDimension height) {
+        if (length == null || width == null || height == null) {
+            throw new IllegalArgumentException("length, width and height must not be null");
+        }
+        if (length.isNegative() || width.isNegative() || height.isNegative()) {
+            throw new IllegalArgumentException(format("Edges must not be negative [%s x %s x %s]", length, width, height));
+        }
+        return new Dimension(length, width, height);
+    }
+
+    /**
+     * Create a new Dimension with all edges in the same unit.
+     *
+     * @param length The length
+     * @param width The width
+     * @param height The height
+     * @param unit The unit of all edges
+     * @return The new instance
+     */
+    public static Dimension of(int length, int width, int height, MetricDimensionUnit unit) {
+        return of(MetricDimension.of(length, unit), MetricDimension.of(width, unit), MetricDimension.of(height, unit));
+    }
+
+    private static long toMillimeters(MetricDimension edge) {
+        return edge.getMagnitude().multiply(millimetersOf(edge.getUnitType())).longValueExact();
+    }
+
+    private static BigDecimal millimetersOf(MetricDimensionUnit unit) {
+        return unit.getMagnitude().movePointRight(3);
+    }
+
+    /**
+     * Return the length.
+     *
+     * @return The length
+     */
+    public MetricDimension getLength() {
+        return length;
+    }
+
+    /**
+     * Return the width.
+     *
+     * @return The width
+     */
+    public MetricDimension getWidth() {
+        return width;
+    }
+
+    /**
+     * Return the height.
+     *
+     * @return The height
+     */
+    public MetricDimension getHeight() {
+        return height;
+    }
+
+    /**
+     * Return length, width and height in millimeters.
+     *
+     * @return A copy of the edges
+     */
+    public long[] toMillimeters() {
+        return edges.clone();
+    }
+
+    /**
+     * Return the edges in millimeters in ascending order.
+     *
+     * @return A copy of the sorted edges
+     */
+    public long[] toSortedMillimeters() {
+        return sorted.clone();
+    }
+
+    /**
+     * Return the volume in cubic {@code unit}s, e.g. cubic meters for {@link MetricDimensionUnit#M}.
+     *
+     * @param unit The unit of the edges of the volume
+     * @return The volume
+     */
+    public BigDecimal getVolume(MetricDimensionUnit unit) {
+        var cubicMillimeters = BigDecimal.valueOf(edges[0]).multiply(BigDecimal.valueOf(edges[1])).multiply(BigDecimal.valueOf(edges[2]));
+        return scale(cubicMillimeters, millimetersOf(unit).pow(3));
+    }
+
+    /**
+     * Return the volume as {@link Volume} in cubic centimeters.
+     *
+     * @return The volume
+     */
+    public Volume toVolume() {
+        var cubicMillimeters = BigDecimal.valueOf(edges[0]).multiply(BigDecimal.valueOf(edges[1])).multiply(BigDecimal.valueOf(edges[2]));
+        return Volume.of(scale(cubicMillimeters, BigDecimal.valueOf(1000)), VolumeUnit.CM3);
+    }
+
+    /**
+     * Return the surface area of all six faces in square {@code unit}s.
+     *
+     * @param unit The unit of the edges of the area
+     * @return The surface area
+     */
+    public BigDecimal getSurface(MetricDimensionUnit unit) {
+        var squareMillimeters = BigDecimal.valueOf(2 * (edges[0] * edges[1] + edges[0] * edges[2] + edges[1] * edges[2]));
+        return scale(squareMillimeters, millimetersOf(unit).pow(2));
+    }
+
+    private static BigDecimal scale(BigDecimal value, BigDecimal divisor) {
+        var result = value.divide(divisor, MathContext.DECIMAL128).stripTrailingZeros();
+        return result.scale() < 0 ? result.setScale(0) : result;
+    }
+
+    /**
+     * Check whether this Dimension fits into the {@code other} one in any of the six orientations.
+     *
+     * @param other The enclosing Dimension
+     * @return {@literal true} if it fits
+     */
+    public boolean fitsIn(Dimension other) {
+        return sorted[0] <= other.sorted[0] && sorted[1] <= other.sorted[1] && sorted[2] <= other.sorted[2];
+    }
+
+    /**
+     * Check whether this Dimension fits into the {@code other} one without tilting, that is the heights are compared as they are and only
+     * length and width may be swapped.
+     *
+     * @param other The enclosing Dimension
+     * @return {@literal true} if it fits upright
+     */
+    public boolean fitsUprightIn(Dimension other) {
+        if (edges[2] > other.edges[2]) {
+            return false;
+        }
+        var shorter = Math.min(edges[0], edges[1]);
+        var longer = Math.max(edges[0], edges[1]);
+        return shorter <= Math.min(other.edges[0], other.edges[1]) && longer <= Math.max(other.edges[0], other.edges[1]);
+    }
+
+    /**
+     * Flatten the sorted edges of the {@code bins} into one array of three millimeter values per bin, to be passed to
+     * {@link #fitsIn(long[], boolean[])} and {@link #firstFit(long[], int)}.
+     *
+     * @param bins The bins
+     * @return The sorted edges of all bins
+     */
+    public static long[] toSortedMillimeters(Collection<Dimension> bins) {
+        var result = new long[bins.size() * 3];
+        var i = 0;
+        for (var bin : bins) {
+            System.arraycopy(bin.sorted, 0, result, i, 3);
+            i += 3;
+        }
+        return result;
+    }
+
+    /**
+     * Check for each bin whether this Dimension fits into it in any orientation, without allocation.
+     *
+     * @param bins The sorted edges of the bins, as returned by {@link #toSortedMillimeters(Collection)}
+     * @param result Receives the result for each bin, must have at least one element per bin
+     * @return The number of bins this Dimension fits into
+     */
+    public int fitsIn(long[] bins, boolean[] result) {
+        long a = sorted[0], b = sorted[1], c = sorted[2];
+        var count = 0;
+        for (int i = 0, bin = 0; i + 2 < bins.length; i += 3, bin++) {
+            var fits = a <= bins[i] && b <= bins[i + 1] && c <= bins[i + 2];
+            result[bin] = fits;
+            if (fits) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Return the index of the first bin at or after {@code fromBin} this Dimension fits into in any orientation.
+     *
+     * @param bins The sorted edges of the bins, as returned by {@link #toSortedMillimeters(Collection)}
+     * @param fromBin The index of the bin to start with
+     * @return The index of the bin, or {@literal -1} if none fits
+     */
+    public int firstFit(long[] bins, int fromBin) {
+        long a = sorted[0], b = sorted[1], c = sorted[2];
+        for (var i = fromBin * 3; i + 2 < bins.length; i += 3) {
+            if (a <= bins[i] && b <= bins[i + 1] && c <= bins[i + 2]) {
+                return i / 3;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Uses length, width and height in millimeters for comparison.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Dimension other)) {
+            return false;
+        }
+        return edges[0] == other.edges[0] && edges[1] == other.edges[1] && edges[2] == other.edges[2];
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Uses length, width and height in millimeters for calculation.
+     */
+    @Override
+    public int hashCode() {
+        return Objects.hash(edges[0], edges[1], edges[2]);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return length.asString() + " x " + width.asString() + " x " + height.asString();
+    }
+}
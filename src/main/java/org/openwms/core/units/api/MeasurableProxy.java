@@ -0,0 +1,105 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.api;
+
+import java.io.Externalizable;
+import java.io.IOException;
+import java.io.InvalidObjectException;
+import java.io.ObjectInput;
+import java.io.ObjectOutput;
+import java.io.ObjectStreamException;
+import java.math.BigDecimal;
+
+/**
+ * A MeasurableProxy is the serialized form of {@link Piece}, {@link Weight}, {@link MetricDimension} and {@link Volume}. Instead of the
+ * class descriptors of the {@code Measurable}, its {@code BigDecimal} and its unit enum, only a few bytes are written:
+ * <pre>
+ * byte    {@link UnitCodes code} of the unit, whose high nibble tags the type
+ * byte    scale of the magnitude
+ * varint  unscaled magnitude as {@link Varints varint}
+ * </pre>
+ * Magnitudes that do not fit into this form set the high bit of the first byte and are written as string.
+ *
+ * @author Heiko Scherrer
+ */
+final class MeasurableProxy implements Externalizable {
+
+    private static final long serialVersionUID = 1L;
+    private static final int STRING_FORM = 0x80;
+
+    private transient BaseUnit<?> unit;
+    private transient BigDecimal magnitude;
+
+    /** Required for deserialization. */
+    public MeasurableProxy() {
+    }
+
+    MeasurableProxy(Measurable<BigDecimal, ?, ?> measurable) {
+        this.unit = measurable.getUnitType();
+        this.magnitude = measurable.getMagnitude();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void writeExternal(ObjectOutput out) throws IOException {
+        var code = UnitCodes.codeOf(unit);
+        var scale = magnitude.scale();
+        var unscaled = magnitude.unscaledValue();
+        if (scale >= Byte.MIN_VALUE && scale <= Byte.MAX_VALUE && unscaled.bitLength() < Long.SIZE) {
+            out.writeByte(code);
+            out.writeByte(scale);
+            Varints.write(out, unscaled.longValue());
+        } else {
+            out.writeByte(code | STRING_FORM);
+            out.writeUTF(magnitude.toString());
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void readExternal(ObjectInput in) throws IOException {
+        var code = in.readUnsignedByte();
+        try {
+            unit = UnitCodes.unitOf(code & ~STRING_FORM);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidObjectException(e.getMessage());
+        }
+        if ((code & STRING_FORM) != 0) {
+            magnitude = new BigDecimal(in.readUTF());
+            return;
+        }
+        int scale = in.readByte();
+        try {
+            magnitude = BigDecimal.valueOf(Varints.read(in), scale);
+        } catch (IllegalArgumentException e) {
+            throw new InvalidObjectException(e.getMessage());
+        }
+    }
+
+    private Object readResolve() throws ObjectStreamException {
+        return switch (unit) {
+            case PieceUnit pieceUnit -> Piece.of(magnitude, pieceUnit);
+            case WeightUnit weightUnit -> Weight.of(magnitude, weightUnit);
+            case MetricDimensionUnit metricDimensionUnit -> MetricDimension.of(magnitude, metricDimensionUnit);
+            case VolumeUnit volumeUnit -> Volume.of(magnitude, volumeUnit);
+            default -> throw new InvalidObjectException("Unit type not supported [%s]".formatted(unit.name()));
+        };
+    }
+}
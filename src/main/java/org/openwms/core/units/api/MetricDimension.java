@@ -29,6 +29,8 @@ import static org.openwms.core.units.api.MetricDimensionUnit.M;
  */
 public class MetricDimension implements Measurable<BigDecimal, MetricDimension, MetricDimensionUnit>, Serializable {
 
+    private static final long serialVersionUID = -5725367335195457952L;
+
     /** The unit of the MetricDimension. */
     private MetricDimensionUnit unitType;
     /** The magnitude of the MetricDimensionUnit. */
@@ -238,4 +240,13 @@ public class MetricDimension implements Measurable<BigDecimal, MetricDimension,
     public String toString() {
         return asString();
     }
-}
\ No newline at end of file
+
+    /**
+     * Serialize the compact {@link MeasurableProxy} instead of the fields, streams in the former default form are still read.
+     *
+     * @return The proxy
+     */
+    private Object writeReplace() {
+        return new MeasurableProxy(this);
+    }
+}
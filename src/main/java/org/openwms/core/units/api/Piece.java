@@ -31,6 +31,8 @@ import static org.openwms.core.units.api.PieceUnit.PC;
  */
 public class Piece implements Measurable<BigDecimal, Piece, PieceUnit>, Serializable {
 
+    private static final long serialVersionUID = -4032764219818730345L;
+
     private static final BigDecimal SHIFTER = new BigDecimal(12);
 
     /** The unit of the Piece. */
@@ -259,4 +261,13 @@ public class Piece implements Measurable<BigDecimal, Piece, PieceUnit>, Serializ
         }
         return val1.compareTo(val2);
     }
-}
\ No newline at end of file
+
+    /**
+     * Serialize the compact {@link MeasurableProxy} instead of the fields, streams in the former default form are still read.
+     *
+     * @return The proxy
+     */
+    private Object writeReplace() {
+        return new MeasurableProxy(this);
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.api;
+
+import static java.lang.String.format;
+
+/**
+ * A UnitCodes assigns each supported {@link BaseUnit} a stable one-byte code for binary and columnar formats. The high nibble identifies
+ * the dimension ({@literal 1} pieces, {@literal 2} weights, {@literal 3} metric dimensions, {@literal 4} volumes), the low nibble the unit
+ * within the dimension in declaration order, so {@code PC} is {@literal 0x10} and {@code KG} is {@literal 0x22}. Units must therefore only
+ * be appended to their enum.
+ *
+ * @author Heiko Scherrer
+ */
+public final class UnitCodes {
+
+    private static final BaseUnit<?>[][] UNITS = {
+            {},
+            PieceUnit.values(),
+            WeightUnit.values(),
+            MetricDimensionUnit.values(),
+            VolumeUnit.values()
+    };
+
+    private UnitCodes() {}
+
+    /**
+     * Return the code of the {@code unit}.
+     *
+     * @param unit The unit
+     * @return The code between {@literal 0x10} and {@literal 0x4F}
+     * @throws IllegalArgumentException if the unit is not supported
+     */
+    public static int codeOf(BaseUnit<?> unit) {
+        return switch (unit) {
+            case PieceUnit pieceUnit -> 0x10 | pieceUnit.ordinal();
+            case WeightUnit weightUnit -> 0x20 | weightUnit.ordinal();
+            case MetricDimensionUnit metricDimensionUnit -> 0x30 | metricDimensionUnit.ordinal();
+            case VolumeUnit volumeUnit -> 0x40 | volumeUnit.ordinal();
+            case null -> throw new IllegalArgumentException("unit is null");
+            default -> throw new IllegalArgumentException(format("Unit type not supported [%s]", unit.name()));
+        };
+    }
+
+    /**
+     * Return the unit of a {@code code}.
+     *
+     * @param code The code
+     * @return The unit
+     * @throws IllegalArgumentException if the code is unknown
+     */
+    public static BaseUnit<?> unitOf(int code) {
+        var dimension = code >>> 4;
+        var index = code & 0x0F;
+        if (dimension >= UNITS.length || index >= UNITS[dimension].length) {
+            throw new IllegalArgumentException(format("Unknown unit code [%s]", code));
+        }
+        return UNITS[dimension][index];
+    }
+}
@@ -0,0 +1,159 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.api;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+/**
+ * A Varints writes and reads {@code long} values in the variable-length form shared by all compact binary forms of quantities. A value is
+ * zig-zag encoded, so that small negative values stay small, and then written in groups of seven bits, least significant first, with the
+ * high bit set on all but the last byte. A value takes between one and {@value #MAX_SIZE} bytes.
+ *
+ * @author Heiko Scherrer
+ */
+public final class Varints {
+
+    /** Maximum number of bytes of one value. */
+    public static final int MAX_SIZE = 10;
+
+    private Varints() {}
+
+    /**
+     * Zig-zag encode a value.
+     *
+     * @param value Any value
+     * @return The encoded value, {@literal 0, -1, 1, -2} become {@literal 0, 1, 2, 3}
+     */
+    public static long zigZag(long value) {
+        return (value << 1) ^ (value >> 63);
+    }
+
+    /**
+     * Decode a zig-zag encoded value.
+     *
+     * @param value The encoded value
+     * @return The original value
+     */
+    public static long unZigZag(long value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Write a zig-zag encoded value at the position of the {@code target} buffer.
+     *
+     * @param target The buffer
+     * @param value The value
+     * @throws java.nio.BufferOverflowException if the remaining space is too small
+     */
+    public static void put(ByteBuffer target, long value) {
+        putUnsigned(target, zigZag(value));
+    }
+
+    /**
+     * Write a non-negative value without zig-zag encoding at the position of the {@code target} buffer, e.g. a size.
+     *
+     * @param target The buffer
+     * @param value The value, treated as unsigned
+     * @throws java.nio.BufferOverflowException if the remaining space is too small
+     */
+    public static void putUnsigned(ByteBuffer target, long value) {
+        while ((value & ~0x7FL) != 0) {
+            target.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        target.put((byte) value);
+    }
+
+    /**
+     * Read a zig-zag encoded value at the position of the {@code source} buffer.
+     *
+     * @param source The buffer
+     * @return The value
+     * @throws IllegalArgumentException if the value is longer than {@value #MAX_SIZE} bytes or exceeds 64 bits
+     * @throws java.nio.BufferUnderflowException if the value is incomplete
+     */
+    public static long get(ByteBuffer source) {
+        return unZigZag(getUnsigned(source));
+    }
+
+    /**
+     * Read a value written by {@link #putUnsigned(ByteBuffer, long)} at the position of the {@code source} buffer.
+     *
+     * @param source The buffer
+     * @return The value
+     * @throws IllegalArgumentException if the value is longer than {@value #MAX_SIZE} bytes or exceeds 64 bits
+     * @throws java.nio.BufferUnderflowException if the value is incomplete
+     */
+    public static long getUnsigned(ByteBuffer source) {
+        var result = 0L;
+        for (var shift = 0; shift < Long.SIZE; shift += 7) {
+            var b = source.get();
+            checkLast(b, shift);
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return result;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint, more than 10 bytes");
+    }
+
+    /**
+     * Write a zig-zag encoded value to a stream.
+     *
+     * @param out The stream
+     * @param value The value
+     * @throws IOException if writing fails
+     */
+    public static void write(DataOutput out, long value) throws IOException {
+        var unsigned = zigZag(value);
+        while ((unsigned & ~0x7FL) != 0) {
+            out.writeByte((int) ((unsigned & 0x7F) | 0x80));
+            unsigned >>>= 7;
+        }
+        out.writeByte((int) unsigned);
+    }
+
+    /**
+     * Read a zig-zag encoded value from a stream.
+     *
+     * @param in The stream
+     * @return The value
+     * @throws IOException if reading fails
+     * @throws IllegalArgumentException if the value is longer than {@value #MAX_SIZE} bytes or exceeds 64 bits
+     */
+    public static long read(DataInput in) throws IOException {
+        var result = 0L;
+        for (var shift = 0; shift < Long.SIZE; shift += 7) {
+            var b = in.readByte();
+            checkLast(b, shift);
+            result |= (long) (b & 0x7F) << shift;
+            if (b >= 0) {
+                return unZigZag(result);
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint, more than 10 bytes");
+    }
+
+    /* The 10th byte holds only the highest bit of a long. */
+    private static void checkLast(byte b, int shift) {
+        if (shift == 63 && (b & 0x7E) != 0) {
+            throw new IllegalArgumentException("Malformed varint, more than 64 bits");
+        }
+    }
+}
@@ -0,0 +1,266 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.api;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+
+import static org.openwms.core.units.api.VolumeUnit.L;
+import static org.openwms.core.units.api.VolumeUnit.M3;
+
+/**
+ * A Volume represents a real world volume, like the cubic capacity of a carton, that comes with an <code>Unit</code> and a value.
+ *
+ * @author Heiko Scherrer
+ */
+public class Volume implements Measurable<BigDecimal, Volume, VolumeUnit>, Serializable {
+
+    private static final long serialVersionUID = 3882206069739286398L;
+
+    /** The unit of the Volume. */
+    private VolumeUnit unitType;
+    /** The magnitude of the Volume. */
+    private BigDecimal magnitude;
+    /** Constant for a zero value. */
+    public static final Volume ZERO = Volume.of(0);
+
+    /* ----------------------------- constructors ------------------- */
+    /** Accessed by persistence provider. */
+    protected Volume() {
+        super();
+    }
+
+    /**
+     * Create a new Volume.
+     *
+     * @param magnitude The magnitude
+     * @param unitType The unit of measure
+     */
+    private Volume(BigDecimal magnitude, VolumeUnit unitType) {
+        this.magnitude = magnitude;
+        this.unitType = unitType;
+    }
+
+    /**
+     * Create a new Volume.
+     *
+     * @param magnitude The magnitude
+     * @param unitType The unit of measure
+     * @return The new instance
+     */
+    public static Volume of(int magnitude, VolumeUnit unitType) {
+        return new Volume(new BigDecimal(magnitude), unitType);
+    }
+
+    /**
+     * Create a new Volume.
+     *
+     * @param magnitude The magnitude
+     * @return The new instance
+     */
+    public static Volume of(int magnitude) {
+        return new Volume(new BigDecimal(magnitude), L.getBaseUnit());
+    }
+
+    /**
+     * Create a new Volume.
+     *
+     * @param magnitude The magnitude
+     * @param unitType The unit of measure
+     * @return The new instance
+     */
+    public static Volume of(BigDecimal magnitude, VolumeUnit unitType) {
+        return new Volume(magnitude, unitType);
+    }
+
+    /**
+     * Create a new Volume.
+     *
+     * @param magnitude The magnitude
+     * @return The new instance
+     */
+    public static Volume of(BigDecimal magnitude) {
+        return new Volume(magnitude, L.getBaseUnit());
+    }
+
+    /**
+     * Create a new Volume of a box.
+     *
+     * @param length The length
+     * @param width The width
+     * @param height The height
+     * @return The new instance in cubic meters
+     */
+    public static Volume of(MetricDimension length, MetricDimension width, MetricDimension height) {
+        var result = meters(length).multiply(meters(width)).multiply(meters(height)).stripTrailingZeros();
+        return new Volume(result.scale() < 0 ? result.setScale(0) : result, M3);
+    }
+
+    private static BigDecimal meters(MetricDimension edge) {
+        return edge.getMagnitude().multiply(edge.getUnitType().getMagnitude());
+    }
+
+    /* ----------------------------- methods ------------------- */
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public BigDecimal getMagnitude() {
+        return magnitude;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public VolumeUnit getUnitType() {
+        return unitType;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @JsonIgnore
+    @Override
+    public boolean isZero() {
+        return this.getMagnitude() != null && this.getMagnitude().signum() == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @JsonIgnore
+    @Override
+    public boolean isNegative() {
+        return this.getMagnitude() == null || this.getMagnitude().signum() == -1;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @JsonIgnore
+    @Override
+    public Volume convertTo(VolumeUnit unt) {
+        return new Volume(getMagnitude().scaleByPowerOfTen(this.getUnitType().getExponent() - unt.getExponent()), unt);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @JsonIgnore
+    @Override
+    public Measurable<BigDecimal, Volume, VolumeUnit> add(Measurable<BigDecimal, Volume, VolumeUnit> other) {
+        if (other == null) {
+            return Volume.of(this.magnitude, this.unitType);
+        }
+        var factor = this.unitType.getExponent() - other.getUnitType().getExponent();
+        if (factor > 0) {
+            return Volume.of(this.magnitude.scaleByPowerOfTen(factor).add(other.getMagnitude()), other.getUnitType());
+        } else if (factor < 0) {
+            return Volume.of(other.getMagnitude().scaleByPowerOfTen(-factor).add(this.magnitude), this.unitType);
+        }
+        return Volume.of(other.getMagnitude().add(this.magnitude), this.unitType);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @JsonIgnore
+    @Override
+    public Measurable<BigDecimal, Volume, VolumeUnit> subtract(Measurable<BigDecimal, Volume, VolumeUnit> subtrahent) {
+        if (subtrahent == null) {
+            return Volume.of(this.magnitude, this.unitType);
+        }
+        var factor = this.unitType.getExponent() - subtrahent.getUnitType().getExponent();
+        if (factor > 0) {
+            return Volume.of(this.magnitude.scaleByPowerOfTen(factor).subtract(subtrahent.getMagnitude()), subtrahent.getUnitType());
+        } else if (factor < 0) {
+            return Volume.of(this.magnitude.subtract(subtrahent.getMagnitude().scaleByPowerOfTen(-factor)), this.unitType);
+        }
+        return Volume.of(this.magnitude.subtract(subtrahent.getMagnitude()), this.unitType);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @JsonIgnore
+    @Override
+    public int compareTo(Volume o) {
+        if (null == o) {
+            return 1;
+        }
+        var factor = this.getUnitType().getExponent() - o.getUnitType().getExponent();
+        if (factor < 0) {
+            return this.magnitude.compareTo(o.magnitude.scaleByPowerOfTen(-factor));
+        } else if (factor > 0) {
+            return this.magnitude.scaleByPowerOfTen(factor).compareTo(o.magnitude);
+        } else {
+            return this.magnitude.compareTo(o.magnitude);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Uses the magnitude in the base unit for calculation, so that equal volumes in different units have the same hash code.
+     */
+    @Override
+    public int hashCode() {
+        if (getMagnitude() == null || getUnitType() == null) {
+            return 0;
+        }
+        return getMagnitude().scaleByPowerOfTen(getUnitType().getExponent()).stripTrailingZeros().hashCode();
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Uses magnitude and unitType for comparison.
+     */
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (obj == null) {
+            return false;
+        }
+        if (getClass() != obj.getClass()) {
+            return false;
+        }
+        Volume other = (Volume) obj;
+        return this.compareTo(other) == 0;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return asString();
+    }
+
+    /**
+     * Serialize the compact {@link MeasurableProxy} instead of the fields, streams in the former default form are still read.
+     *
+     * @return The proxy
+     */
+    private Object writeReplace() {
+        return new MeasurableProxy(this);
+    }
+}
@@ -0,0 +1,89 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.api;
+
+import java.math.BigDecimal;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A VolumeUnit is a concrete set of all possible volumes.
+ * <p>
+ * The magnitude is expressed in cubic centimeters, {@code DM3} and {@code L} are two names of the same unit.
+ * </p>
+ *
+ * @author Heiko Scherrer
+ */
+public enum VolumeUnit implements BaseUnit<VolumeUnit> {
+
+    /** Cubic centimeters. */
+    CM3(new BigDecimal(1), 0),
+    /** Cubic decimeters. */
+    DM3(new BigDecimal(1000), 3),
+    /** Liters. */
+    L(new BigDecimal(1000), 3),
+    /** Cubic meters. */
+    M3(new BigDecimal(1_000_000), 6);
+
+    private final BigDecimal magnitude;
+    private final int exponent;
+    private static final VolumeUnit[] all = { VolumeUnit.CM3, VolumeUnit.DM3, VolumeUnit.L, VolumeUnit.M3 };
+
+    /**
+     * Create a new {@code VolumeUnit}.
+     *
+     * @param magnitude The base unit of the VolumeUnit
+     * @param exponent The power of ten of the magnitude
+     */
+    VolumeUnit(BigDecimal magnitude, int exponent) {
+        this.magnitude = magnitude;
+        this.exponent = exponent;
+    }
+
+    /**
+     * Get the magnitude of this {@code VolumeUnit}.
+     *
+     * @return the magnitude
+     */
+    public BigDecimal getMagnitude() {
+        return this.magnitude;
+    }
+
+    /**
+     * Get the power of ten between this {@code VolumeUnit} and the base unit.
+     *
+     * @return the exponent
+     */
+    int getExponent() {
+        return exponent;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public List<VolumeUnit> getAll() {
+        return Arrays.asList(all);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public VolumeUnit getBaseUnit() {
+        return CM3;
+    }
+}
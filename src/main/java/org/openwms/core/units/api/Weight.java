@@ -29,6 +29,8 @@ import static org.openwms.core.units.api.WeightUnit.KG;
  */
 public class Weight implements Measurable<BigDecimal, Weight, WeightUnit>, Serializable {
 
+    private static final long serialVersionUID = -3152131811344091955L;
+
     /** The unit of the Weight. */
     private WeightUnit unitType;
     /** The magnitude of the Weight. */
@@ -238,4 +240,13 @@ public class Weight implements Measurable<BigDecimal, Weight, WeightUnit>, Seria
     public String toString() {
         return asString();
     }
-}
\ No newline at end of file
+
+    /**
+     * Serialize the compact {@link MeasurableProxy} instead of the fields, streams in the former default form are still read.
+     *
+     * @return The proxy
+     */
+    private Object writeReplace() {
+        return new MeasurableProxy(this);
+    }
+}
@@ -0,0 +1,164 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.codec;
+
+import org.openwms.core.units.MeasurableMath;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+import org.openwms.core.units.api.UnitCodes;
+import org.openwms.core.units.api.Varints;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * A MeasurableCodec encodes {@link Measurable}s into a compact binary form and decodes them again, on heap as well as on direct
+ * {@link ByteBuffer}s. A value is encoded losslessly, including the scale of its magnitude, as
+ * <pre>
+ * byte    {@link UnitCodes code} of the unit
+ * byte    scale of the magnitude
+ * varint  unscaled magnitude as {@link Varints varint}
+ * </pre>
+ * which is also the form Java serialization of the {@code Measurable}s uses. So {@literal 24 PC} and {@literal 1.5 KG} take three bytes
+ * each. Lists are prefixed with their size as varint. All methods read and write at the position of the buffer and advance it.
+ *
+ * @author Heiko Scherrer
+ */
+public final class MeasurableCodec {
+
+    /** Maximum number of bytes one encoded value takes. */
+    public static final int MAX_ENCODED_SIZE = 12;
+
+    private MeasurableCodec() {}
+
+    /**
+     * Encode one value.
+     *
+     * @param value The value to encode
+     * @param target The buffer to write to
+     * @throws IllegalArgumentException if the magnitude does not fit into a scale byte and a {@code long} unscaled value
+     * @throws java.nio.BufferOverflowException if the remaining space is too small
+     */
+    public static void encode(Measurable<BigDecimal, ?, ?> value, ByteBuffer target) {
+        var magnitude = value.getMagnitude();
+        var scale = magnitude.scale();
+        if (scale < Byte.MIN_VALUE || scale > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException(format("Scale of the magnitude is not supported [%s]", value));
+        }
+        long unscaled;
+        try {
+            unscaled = scale == 0 ? magnitude.longValueExact() : magnitude.unscaledValue().longValueExact();
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(format("Magnitude is too large to be encoded [%s]", value), e);
+        }
+        target.put((byte) UnitCodes.codeOf(value.getUnitType())).put((byte) scale);
+        Varints.put(target, unscaled);
+    }
+
+    /**
+     * Decode one value.
+     *
+     * @param source The buffer to read from
+     * @return The value in its original unit
+     * @throws IllegalArgumentException if the unit code is unknown or the magnitude is malformed
+     * @throws java.nio.BufferUnderflowException if the value is incomplete
+     */
+    public static Measurable<?, ?, ?> decode(ByteBuffer source) {
+        var unit = UnitCodes.unitOf(source.get() & 0xFF);
+        int scale = source.get();
+        return of(BigDecimal.valueOf(Varints.get(source), scale), unit);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Measurable<?, ?, ?> of(BigDecimal magnitude, BaseUnit<?> unit) {
+        return (Measurable<?, ?, ?>) MeasurableMath.of(magnitude, (BaseUnit) unit);
+    }
+
+    /**
+     * Encode a list of values, prefixed with its size.
+     *
+     * @param values The values to encode
+     * @param target The buffer to write to
+     * @throws IllegalArgumentException if a value cannot be encoded
+     * @throws java.nio.BufferOverflowException if the remaining space is too small
+     */
+    public static void encodeAll(List<? extends Measurable<BigDecimal, ?, ?>> values, ByteBuffer target) {
+        Varints.putUnsigned(target, values.size());
+        for (var value : values) {
+            encode(value, target);
+        }
+    }
+
+    /**
+     * Decode a list of values written by {@link #encodeAll(List, ByteBuffer)}.
+     *
+     * @param source The buffer to read from
+     * @return The values in their original units
+     * @throws IllegalArgumentException if a value is malformed
+     * @throws java.nio.BufferUnderflowException if the list is incomplete
+     */
+    public static List<Measurable<?, ?, ?>> decodeAll(ByteBuffer source) {
+        var size = size(source);
+        var result = new ArrayList<Measurable<?, ?, ?>>(size);
+        for (var i = 0; i < size; i++) {
+            result.add(decode(source));
+        }
+        return result;
+    }
+
+    /**
+     * Encode {@link org.openwms.core.units.FixedPoint} values of one dimension without allocation, prefixed with their number. Each value
+     * takes one byte for magnitudes below {@literal 64} and grows with its size.
+     *
+     * @param fixed The fixed-point values
+     * @param target The buffer to write to
+     * @throws java.nio.BufferOverflowException if the remaining space is too small
+     */
+    public static void encodeFixed(long[] fixed, ByteBuffer target) {
+        Varints.putUnsigned(target, fixed.length);
+        for (var value : fixed) {
+            Varints.put(target, value);
+        }
+    }
+
+    /**
+     * Decode fixed-point values written by {@link #encodeFixed(long[], ByteBuffer)}.
+     *
+     * @param source The buffer to read from
+     * @return The fixed-point values
+     * @throws IllegalArgumentException if a value is malformed
+     * @throws java.nio.BufferUnderflowException if the values are incomplete
+     */
+    public static long[] decodeFixed(ByteBuffer source) {
+        var result = new long[size(source)];
+        for (var i = 0; i < result.length; i++) {
+            result[i] = Varints.get(source);
+        }
+        return result;
+    }
+
+    private static int size(ByteBuffer source) {
+        var size = Varints.getUnsigned(source);
+        if (size < 0 || size > source.remaining()) {
+            throw new IllegalArgumentException(format("Size exceeds the remaining bytes [%s]", size));
+        }
+        return (int) size;
+    }
+}
@@ -0,0 +1,140 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.concurrent;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A MeasurableAdder maintains a running total of {@link Measurable}s of one dimension that is updated by many threads. Like the
+ * {@link LongAdder} it is backed by, updates are spread over striped cells and do not fail under contention, whereas reading the
+ * {@link #sum()} is comparatively expensive. The total is kept as {@link FixedPoint} value.
+ *
+ * @param <E> The type of Measurable
+ * @param <T> The type of BaseUnit
+ * @author Heiko Scherrer
+ */
+public class MeasurableAdder<E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> {
+
+    private final T unit;
+    private final LongAdder total = new LongAdder();
+
+    private MeasurableAdder(T unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Create a new MeasurableAdder with an initial sum of zero.
+     *
+     * @param unit The unit the {@link #sum()} is expressed in
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     */
+    public static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> MeasurableAdder<E, T> of(T unit) {
+        FixedPoint.factorOf(unit); // fail fast on unsupported units
+        return new MeasurableAdder<>(unit);
+    }
+
+    /**
+     * Add the given value, {@literal null} is ignored.
+     *
+     * @param value The value to add
+     * @throws ArithmeticException if the value is finer than the fixed-point resolution
+     */
+    public void add(Measurable<BigDecimal, E, T> value) {
+        if (value != null) {
+            total.add(FixedPoint.toFixed(value));
+        }
+    }
+
+    /**
+     * Subtract the given value, {@literal null} is ignored.
+     *
+     * @param value The value to subtract
+     * @throws ArithmeticException if the value is finer than the fixed-point resolution
+     */
+    public void subtract(Measurable<BigDecimal, E, T> value) {
+        if (value != null) {
+            total.add(-FixedPoint.toFixed(value));
+        }
+    }
+
+    /**
+     * Add a value that has already been converted with {@link FixedPoint}.
+     *
+     * @param fixed The fixed-point value to add
+     */
+    public void addFixed(long fixed) {
+        total.add(fixed);
+    }
+
+    /**
+     * Return the current total. Concurrent updates that happen while the sum is calculated might not be incorporated.
+     *
+     * @return The total in the unit of this adder
+     */
+    public E sum() {
+        return FixedPoint.fromFixed(total.sum(), unit);
+    }
+
+    /**
+     * Return the current total.
+     *
+     * @param target The unit of the result
+     * @return The total in {@code target}
+     */
+    public E sum(T target) {
+        return FixedPoint.fromFixed(total.sum(), target);
+    }
+
+    /**
+     * Return the current total as {@link FixedPoint} value.
+     *
+     * @return The fixed-point total
+     */
+    public long sumFixed() {
+        return total.sum();
+    }
+
+    /**
+     * Reset the total to zero. Only effective if there are no concurrent updates.
+     */
+    public void reset() {
+        total.reset();
+    }
+
+    /**
+     * Return the current total and reset it to zero afterward.
+     *
+     * @return The total in the unit of this adder
+     */
+    public E sumThenReset() {
+        return FixedPoint.fromFixed(total.sumThenReset(), unit);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return sum().toString();
+    }
+}
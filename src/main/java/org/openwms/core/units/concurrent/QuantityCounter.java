@@ -0,0 +1,218 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.concurrent;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+
+/**
+ * A QuantityCounter is a replicated PN-counter of {@link Measurable}s of one dimension. Each node increments only its own pair of grow-only
+ * {@link FixedPoint} totals, one for additions and one for subtractions, and the value is the difference of all additions and subtractions
+ * of all nodes. Merging takes the maximum per node and total, hence it is commutative, associative and idempotent and counters of different
+ * nodes converge without coordination.
+ * <p>
+ * The binary state starts with a version byte followed by the name of the base unit, the number of nodes and per node its id and both
+ * totals.
+ * </p>
+ *
+ * @param <E> The type of Measurable
+ * @param <T> The type of BaseUnit
+ * @author Heiko Scherrer
+ */
+public class QuantityCounter<E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> {
+
+    private static final byte VERSION = 1;
+    private final String nodeId;
+    private final T unit;
+    private final ConcurrentHashMap<String, Totals> nodes = new ConcurrentHashMap<>();
+    private final Totals local;
+
+    static final class Totals {
+        final AtomicLong increments = new AtomicLong();
+        final AtomicLong decrements = new AtomicLong();
+    }
+
+    private QuantityCounter(String nodeId, T unit) {
+        this.nodeId = nodeId;
+        this.unit = unit;
+        this.local = totals(nodeId);
+    }
+
+    /**
+     * Create a new QuantityCounter with a value of zero.
+     *
+     * @param nodeId The unique id of the local node
+     * @param unit The unit the value is expressed in
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     */
+    public static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> QuantityCounter<E, T> of(String nodeId, T unit) {
+        if (nodeId == null) {
+            throw new IllegalArgumentException("nodeId is null");
+        }
+        FixedPoint.factorOf(unit); // fail fast on unsupported units
+        return new QuantityCounter<>(nodeId, unit);
+    }
+
+    private Totals totals(String node) {
+        var totals = nodes.get(node);
+        return totals != null ? totals : nodes.computeIfAbsent(node, k -> new Totals());
+    }
+
+    /**
+     * Return the id of the local node.
+     *
+     * @return The node id
+     */
+    public String getNodeId() {
+        return nodeId;
+    }
+
+    /**
+     * Add the {@code value} on the local node, {@literal null} is ignored.
+     *
+     * @param value The value to add, may be negative
+     */
+    public void add(Measurable<BigDecimal, E, T> value) {
+        if (value != null) {
+            addFixed(FixedPoint.toFixed(value));
+        }
+    }
+
+    /**
+     * Subtract the {@code value} on the local node, {@literal null} is ignored.
+     *
+     * @param value The value to subtract, may be negative
+     */
+    public void subtract(Measurable<BigDecimal, E, T> value) {
+        if (value != null) {
+            addFixed(-FixedPoint.toFixed(value));
+        }
+    }
+
+    private void addFixed(long fixed) {
+        if (fixed >= 0) {
+            local.increments.addAndGet(fixed);
+        } else {
+            local.decrements.addAndGet(-fixed);
+        }
+    }
+
+    /**
+     * Return the value over all known nodes.
+     *
+     * @return The value
+     */
+    public E value() {
+        long result = 0;
+        for (var totals : nodes.values()) {
+            result += totals.increments.get() - totals.decrements.get();
+        }
+        return FixedPoint.fromFixed(result, unit);
+    }
+
+    /**
+     * Merge the state of another counter into this one.
+     *
+     * @param other The counter of another node
+     */
+    public void merge(QuantityCounter<E, T> other) {
+        requireSameDimension(other.unit.getBaseUnit().name());
+        other.nodes.forEach((node, totals) -> merge(node, totals.increments.get(), totals.decrements.get()));
+    }
+
+    /**
+     * Merge a binary state, as created by {@link #toBytes()}, into this counter.
+     *
+     * @param state The binary state of another node
+     * @throws IllegalArgumentException if the state is of an unknown version or of another dimension
+     */
+    public void merge(byte[] state) {
+        try (var in = new DataInputStream(new ByteArrayInputStream(state))) {
+            var version = in.readByte();
+            if (version != VERSION) {
+                throw new IllegalArgumentException(format("Unsupported state version [%d]", version));
+            }
+            requireSameDimension(in.readUTF());
+            var count = in.readInt();
+            for (var i = 0; i < count; i++) {
+                merge(in.readUTF(), in.readLong(), in.readLong());
+            }
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Invalid state: " + e.getMessage(), e);
+        }
+    }
+
+    private void merge(String node, long increments, long decrements) {
+        var totals = totals(node);
+        totals.increments.accumulateAndGet(increments, Math::max);
+        totals.decrements.accumulateAndGet(decrements, Math::max);
+    }
+
+    private void requireSameDimension(String otherBaseUnit) {
+        if (!unit.getBaseUnit().name().equals(otherBaseUnit)) {
+            throw new IllegalArgumentException(format("Cannot merge counters of different dimensions [%s] and [%s]",
+                    unit.getBaseUnit().name(), otherBaseUnit));
+        }
+    }
+
+    /**
+     * Return the binary state of this counter including all known nodes.
+     *
+     * @return The state
+     */
+    public byte[] toBytes() {
+        var snapshot = new HashMap<String, long[]>();
+        nodes.forEach((node, totals) -> snapshot.put(node, new long[]{totals.increments.get(), totals.decrements.get()}));
+        var bytes = new ByteArrayOutputStream(16 + snapshot.size() * 24);
+        try (var out = new DataOutputStream(bytes)) {
+            out.writeByte(VERSION);
+            out.writeUTF(unit.getBaseUnit().name());
+            out.writeInt(snapshot.size());
+            for (var entry : snapshot.entrySet()) {
+                out.writeUTF(entry.getKey());
+                out.writeLong(entry.getValue()[0]);
+                out.writeLong(entry.getValue()[1]);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "QuantityCounter{nodeId=%s, value=%s}".formatted(nodeId, value());
+    }
+}
@@ -0,0 +1,207 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.concurrent;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * A QuantityMap is a thread-safe map from a key, like a location or SKU, to a running total of {@link Measurable}s of one dimension. Totals
+ * are kept as {@link FixedPoint} values in one mutable cell per key, so an update does neither allocate a new {@code Measurable} nor retry
+ * under contention. {@code Measurable}s are only created when a total is read.
+ *
+ * @param <K> The type of key
+ * @param <E> The type of Measurable
+ * @param <T> The type of BaseUnit
+ * @author Heiko Scherrer
+ */
+public class QuantityMap<K, E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> {
+
+    private final T unit;
+    private final ConcurrentHashMap<K, AtomicLong> totals;
+
+    private QuantityMap(T unit, int initialCapacity) {
+        this.unit = unit;
+        this.totals = new ConcurrentHashMap<>(initialCapacity);
+    }
+
+    /**
+     * Create a new and empty QuantityMap.
+     *
+     * @param unit The unit totals are expressed in
+     * @param <K> The type of key
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     */
+    public static <K, E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> QuantityMap<K, E, T> of(T unit) {
+        return of(unit, 16);
+    }
+
+    /**
+     * Create a new and empty QuantityMap.
+     *
+     * @param unit The unit totals are expressed in
+     * @param initialCapacity The number of keys to expect
+     * @param <K> The type of key
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     */
+    public static <K, E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> QuantityMap<K, E, T> of(T unit, int initialCapacity) {
+        FixedPoint.factorOf(unit); // fail fast on unsupported units
+        return new QuantityMap<>(unit, initialCapacity);
+    }
+
+    private AtomicLong cell(K key) {
+        var cell = totals.get(key);
+        return cell != null ? cell : totals.computeIfAbsent(key, k -> new AtomicLong());
+    }
+
+    /**
+     * Add the {@code value} to the total of {@code key}, {@literal null} values are ignored.
+     *
+     * @param key The key
+     * @param value The value to add
+     * @throws ArithmeticException if the value is finer than the fixed-point resolution
+     */
+    public void add(K key, Measurable<BigDecimal, E, T> value) {
+        if (value != null) {
+            addFixed(key, FixedPoint.toFixed(value));
+        }
+    }
+
+    /**
+     * Subtract the {@code value} from the total of {@code key}, {@literal null} values are ignored.
+     *
+     * @param key The key
+     * @param value The value to subtract
+     * @throws ArithmeticException if the value is finer than the fixed-point resolution
+     */
+    public void subtract(K key, Measurable<BigDecimal, E, T> value) {
+        if (value != null) {
+            addFixed(key, -FixedPoint.toFixed(value));
+        }
+    }
+
+    /**
+     * Add a {@link FixedPoint} value to the total of {@code key}.
+     *
+     * @param key The key
+     * @param fixed The fixed-point value to add
+     * @return The new fixed-point total of the key
+     */
+    public long addFixed(K key, long fixed) {
+        return cell(key).addAndGet(fixed);
+    }
+
+    /**
+     * Return the total of {@code key}.
+     *
+     * @param key The key
+     * @return The total, or zero if the key is unknown
+     */
+    public E get(K key) {
+        return FixedPoint.fromFixed(getFixed(key), unit);
+    }
+
+    /**
+     * Return the total of {@code key} as {@link FixedPoint} value.
+     *
+     * @param key The key
+     * @return The fixed-point total, or zero if the key is unknown
+     */
+    public long getFixed(K key) {
+        var cell = totals.get(key);
+        return cell == null ? 0 : cell.get();
+    }
+
+    /**
+     * Check whether a total for the {@code key} exists.
+     *
+     * @param key The key
+     * @return {@literal true} if the key is known
+     */
+    public boolean containsKey(K key) {
+        return totals.containsKey(key);
+    }
+
+    /**
+     * Remove the {@code key}. Updates of the same key that run concurrently to the removal may get lost.
+     *
+     * @param key The key
+     * @return The last total, or zero if the key was unknown
+     */
+    public E remove(K key) {
+        var cell = totals.remove(key);
+        return FixedPoint.fromFixed(cell == null ? 0 : cell.get(), unit);
+    }
+
+    /**
+     * Return the number of keys.
+     *
+     * @return The number of keys
+     */
+    public int size() {
+        return totals.size();
+    }
+
+    /**
+     * Pass each key and its total to the {@code action}. Iteration is weakly consistent, concurrent updates may or may not be reflected.
+     *
+     * @param action The callback
+     */
+    public void forEach(BiConsumer<? super K, ? super E> action) {
+        totals.forEach((k, v) -> action.accept(k, FixedPoint.fromFixed(v.get(), unit)));
+    }
+
+    /**
+     * Pass each key and its {@link FixedPoint} total to the {@code action} without allocating {@link Measurable}s.
+     *
+     * @param action The callback
+     */
+    public void forEachFixed(ObjLongConsumer<? super K> action) {
+        totals.forEach((k, v) -> action.accept(k, v.get()));
+    }
+
+    /**
+     * Return a copy of all totals.
+     *
+     * @return A detached and modifiable map of all totals
+     */
+    public Map<K, E> snapshot() {
+        var result = new HashMap<K, E>(Math.max(16, totals.size() * 4 / 3 + 1));
+        forEach(result::put);
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return snapshot().toString();
+    }
+}
@@ -0,0 +1,107 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.concurrent;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+
+import java.math.BigDecimal;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * A Reservation is the handle of a quantity reserved in a {@link ReservationLedger}. It is either released, which gives the quantity back
+ * to the available quantity, or committed, which consumes it. Only the first of both calls has an effect.
+ *
+ * @param <K> The type of key
+ * @param <E> The type of Measurable
+ * @param <T> The type of BaseUnit
+ * @author Heiko Scherrer
+ */
+public final class Reservation<K, E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> {
+
+    private final ReservationLedger<K, E, T> ledger;
+    private final K key;
+    private final long fixed;
+    private final AtomicBoolean open = new AtomicBoolean(true);
+
+    Reservation(ReservationLedger<K, E, T> ledger, K key, long fixed) {
+        this.ledger = ledger;
+        this.key = key;
+        this.fixed = fixed;
+    }
+
+    /**
+     * Return the key the quantity is reserved for.
+     *
+     * @return The key
+     */
+    public K getKey() {
+        return key;
+    }
+
+    /**
+     * Return the reserved quantity.
+     *
+     * @return The quantity
+     */
+    public E getQuantity() {
+        return FixedPoint.fromFixed(fixed, ledger.getUnit());
+    }
+
+    /**
+     * Check whether the Reservation is neither released nor committed.
+     *
+     * @return {@literal true} if still open
+     */
+    public boolean isOpen() {
+        return open.get();
+    }
+
+    /**
+     * Give the reserved quantity back to the available quantity.
+     *
+     * @return {@literal true} if released by this call, {@literal false} if it has been released or committed before
+     */
+    public boolean release() {
+        if (open.compareAndSet(true, false)) {
+            ledger.release(key, fixed);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Consume the reserved quantity, e.g. when the pick is confirmed.
+     *
+     * @return {@literal true} if committed by this call, {@literal false} if it has been released or committed before
+     */
+    public boolean commit() {
+        if (open.compareAndSet(true, false)) {
+            ledger.commit(key, fixed);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "Reservation{key=%s, quantity=%s, open=%s}".formatted(key, getQuantity(), open.get());
+    }
+}
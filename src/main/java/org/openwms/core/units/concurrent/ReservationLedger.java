@@ -0,0 +1,155 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.concurrent;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.lang.String.format;
+
+/**
+ * A ReservationLedger tracks the available and reserved quantity per key, like a SKU, and guarantees that reservations never exceed the
+ * available quantity. Reserving is a compare-and-set loop on the {@link FixedPoint} value of the available quantity of one key, so it
+ * neither blocks nor takes a lock that other keys share. A failed reservation is reported instead of waiting for stock.
+ * <p>
+ * Available and reserved quantities of one key are maintained separately, so reading both is not an atomic snapshot.
+ * </p>
+ *
+ * @param <K> The type of key
+ * @param <E> The type of Measurable
+ * @param <T> The type of BaseUnit
+ * @author Heiko Scherrer
+ */
+public class ReservationLedger<K, E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> {
+
+    private final T unit;
+    private final ConcurrentHashMap<K, Stock> stocks = new ConcurrentHashMap<>();
+
+    static final class Stock {
+        final AtomicLong available = new AtomicLong();
+        final AtomicLong reserved = new AtomicLong();
+    }
+
+    private ReservationLedger(T unit) {
+        this.unit = unit;
+    }
+
+    /**
+     * Create a new and empty ReservationLedger.
+     *
+     * @param unit The unit quantities are expressed in
+     * @param <K> The type of key
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     */
+    public static <K, E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> ReservationLedger<K, E, T> of(T unit) {
+        FixedPoint.factorOf(unit); // fail fast on unsupported units
+        return new ReservationLedger<>(unit);
+    }
+
+    private static long toPositiveFixed(Measurable<?, ?, ?> quantity) {
+        if (quantity == null) {
+            throw new IllegalArgumentException("quantity is null");
+        }
+        var fixed = FixedPoint.toFixed(quantity);
+        if (fixed < 0) {
+            throw new IllegalArgumentException(format("Quantity must not be negative [%s]", quantity));
+        }
+        return fixed;
+    }
+
+    private Stock stock(K key) {
+        var stock = stocks.get(key);
+        return stock != null ? stock : stocks.computeIfAbsent(key, k -> new Stock());
+    }
+
+    /**
+     * Increase the available quantity of {@code key}, e.g. on goods receipt.
+     *
+     * @param key The key
+     * @param quantity The quantity to add
+     */
+    public void receive(K key, Measurable<BigDecimal, E, T> quantity) {
+        stock(key).available.addAndGet(toPositiveFixed(quantity));
+    }
+
+    /**
+     * Try to reserve the {@code quantity} of {@code key}.
+     *
+     * @param key The key
+     * @param quantity The quantity to reserve
+     * @return The Reservation, or empty if not enough quantity is available
+     */
+    public Optional<Reservation<K, E, T>> tryReserve(K key, Measurable<BigDecimal, E, T> quantity) {
+        var fixed = toPositiveFixed(quantity);
+        var stock = stocks.get(key);
+        if (stock == null) {
+            return Optional.empty();
+        }
+        long current;
+        do {
+            current = stock.available.get();
+            if (current < fixed) {
+                return Optional.empty();
+            }
+        } while (!stock.available.compareAndSet(current, current - fixed));
+        stock.reserved.addAndGet(fixed);
+        return Optional.of(new Reservation<>(this, key, fixed));
+    }
+
+    /**
+     * Return the quantity of {@code key} that can still be reserved.
+     *
+     * @param key The key
+     * @return The available quantity, zero if the key is unknown
+     */
+    public E getAvailable(K key) {
+        var stock = stocks.get(key);
+        return FixedPoint.fromFixed(stock == null ? 0 : stock.available.get(), unit);
+    }
+
+    /**
+     * Return the quantity of {@code key} that is reserved and not yet released or committed.
+     *
+     * @param key The key
+     * @return The reserved quantity, zero if the key is unknown
+     */
+    public E getReserved(K key) {
+        var stock = stocks.get(key);
+        return FixedPoint.fromFixed(stock == null ? 0 : stock.reserved.get(), unit);
+    }
+
+    void release(K key, long fixed) {
+        var stock = stocks.get(key);
+        stock.reserved.addAndGet(-fixed);
+        stock.available.addAndGet(fixed);
+    }
+
+    void commit(K key, long fixed) {
+        stocks.get(key).reserved.addAndGet(-fixed);
+    }
+
+    T getUnit() {
+        return unit;
+    }
+}
@@ -22,6 +22,8 @@ import org.openwms.core.units.api.MetricDimension;
 import org.openwms.core.units.api.MetricDimensionUnit;
 import org.openwms.core.units.api.Piece;
 import org.openwms.core.units.api.PieceUnit;
+import org.openwms.core.units.api.Volume;
+import org.openwms.core.units.api.VolumeUnit;
 import org.openwms.core.units.api.Weight;
 import org.openwms.core.units.api.WeightUnit;
 
@@ -35,6 +37,7 @@ import java.util.Optional;
 import static java.lang.String.format;
 import static org.openwms.core.units.api.MetricDimensionUnit.M;
 import static org.openwms.core.units.api.PieceUnit.PC;
+import static org.openwms.core.units.api.VolumeUnit.CM3;
 import static org.openwms.core.units.api.WeightUnit.G;
 
 /**
@@ -49,6 +52,7 @@ public final class Units {
         result.addAll(PC.getAll());
         result.addAll(G.getAll());
         result.addAll(M.getAll());
+        result.addAll(CM3.getAll());
         return result;
     }
 
@@ -121,6 +125,13 @@ public final class Units {
             return MetricDimension.of(amount, metricDimensionUnit.get());
         }
 
+        var volumeUnit = Arrays.stream(VolumeUnit.values())
+                .filter(v -> v.name().equals(unit))
+                .findFirst();
+        if (volumeUnit.isPresent()) {
+            return Volume.of(amount, volumeUnit.get());
+        }
+
         throw new IllegalArgumentException(format("Unit type not supported [%s]", unit));
     }
 }
@@ -0,0 +1,235 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.converter;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.Version;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.JsonDeserializer;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeDeserializer;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import org.openwms.core.units.MeasurableMath;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+import org.openwms.core.units.api.MeasurableString;
+import org.openwms.core.units.api.MetricDimension;
+import org.openwms.core.units.api.MetricDimensionUnit;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.PieceUnit;
+import org.openwms.core.units.api.Volume;
+import org.openwms.core.units.api.VolumeUnit;
+import org.openwms.core.units.api.Weight;
+import org.openwms.core.units.api.WeightUnit;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * A UnitsModule is an opt-in Jackson module that writes {@link Measurable}s in the {@link MeasurableString} form, like {@code "24 PC"},
+ * and {@link BaseUnit}s by their name, like {@code "KG"}, instead of the class-id type information declared on both interfaces. Values are
+ * read straight from the parser tokens and units are resolved by a map lookup, no class is loaded reflectively. The former class-id form
+ * is still accepted when reading, so the module can be registered before all clients have been migrated.
+ * <pre>
+ * var mapper = new ObjectMapper().registerModule(new UnitsModule());
+ * </pre>
+ *
+ * @author Heiko Scherrer
+ */
+public final class UnitsModule extends SimpleModule {
+
+    private static final long serialVersionUID = 1L;
+    private static final Map<String, BaseUnit<?>> UNITS = new HashMap<>();
+
+    static {
+        for (var unit : Units.getAllUnits()) {
+            UNITS.put(unit.name(), unit);
+        }
+    }
+
+    /**
+     * Create the module.
+     */
+    public UnitsModule() {
+        super("UnitsModule", Version.unknownVersion());
+        addSerializer(Measurable.class, new MeasurableSerializer());
+        addSerializer(BaseUnit.class, new BaseUnitSerializer());
+        addDeserializer(Measurable.class, new MeasurableDeserializer<>(Measurable.class));
+        addDeserializer(Piece.class, new MeasurableDeserializer<>(Piece.class));
+        addDeserializer(Weight.class, new MeasurableDeserializer<>(Weight.class));
+        addDeserializer(MetricDimension.class, new MeasurableDeserializer<>(MetricDimension.class));
+        addDeserializer(Volume.class, new MeasurableDeserializer<>(Volume.class));
+        addDeserializer(BaseUnit.class, new BaseUnitDeserializer<>(BaseUnit.class));
+        addDeserializer(PieceUnit.class, new BaseUnitDeserializer<>(PieceUnit.class));
+        addDeserializer(WeightUnit.class, new BaseUnitDeserializer<>(WeightUnit.class));
+        addDeserializer(MetricDimensionUnit.class, new BaseUnitDeserializer<>(MetricDimensionUnit.class));
+        addDeserializer(VolumeUnit.class, new BaseUnitDeserializer<>(VolumeUnit.class));
+    }
+
+    private static BaseUnit<?> unitOf(String name, Class<?> type, DeserializationContext ctxt) throws IOException {
+        var unit = UNITS.get(name);
+        if (unit == null) {
+            throw ctxt.weirdStringException(name, type, "Unit type not supported");
+        }
+        return unit;
+    }
+
+    /**
+     * Reads a unit either by its name or in the former {@code ["<class>", "<name>"]} form.
+     */
+    private static BaseUnit<?> readUnit(JsonParser p, Class<?> type, DeserializationContext ctxt) throws IOException {
+        if (p.currentToken() == JsonToken.START_ARRAY) {
+            p.nextToken();
+            var name = p.nextTextValue();
+            if (p.nextToken() != JsonToken.END_ARRAY) {
+                ctxt.reportWrongTokenException(type, JsonToken.END_ARRAY, "Expected the unit as [class, name]");
+            }
+            return unitOf(name, type, ctxt);
+        }
+        if (p.currentToken() != JsonToken.VALUE_STRING) {
+            ctxt.reportWrongTokenException(type, JsonToken.VALUE_STRING, "Expected the name of a unit");
+        }
+        return unitOf(p.getText(), type, ctxt);
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final class MeasurableSerializer extends JsonSerializer<Measurable> {
+
+        @Override
+        public void serialize(Measurable value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeString(value.getMagnitude() + MeasurableString.SEPARATOR + value.getUnitType().name());
+        }
+
+        @Override
+        public void serializeWithType(Measurable value, JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+                throws IOException {
+            serialize(value, gen, serializers);
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final class BaseUnitSerializer extends JsonSerializer<BaseUnit> {
+
+        @Override
+        public void serialize(BaseUnit value, JsonGenerator gen, SerializerProvider serializers) throws IOException {
+            gen.writeString(value.name());
+        }
+
+        @Override
+        public void serializeWithType(BaseUnit value, JsonGenerator gen, SerializerProvider serializers, TypeSerializer typeSer)
+                throws IOException {
+            serialize(value, gen, serializers);
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final class MeasurableDeserializer<E extends Measurable> extends JsonDeserializer<E> {
+
+        private final Class<E> type;
+
+        MeasurableDeserializer(Class<E> type) {
+            this.type = type;
+        }
+
+        @Override
+        public E deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            var result = switch (p.currentToken()) {
+                case VALUE_STRING -> fromString(p.getText(), ctxt);
+                case START_OBJECT, FIELD_NAME -> fromObject(p, ctxt);
+                default -> ctxt.handleUnexpectedToken(type, p);
+            };
+            if (!type.isInstance(result)) {
+                return ctxt.reportInputMismatch(this, "Cannot read [%s] as %s", result, type.getSimpleName());
+            }
+            return type.cast(result);
+        }
+
+        @Override
+        public Object deserializeWithType(JsonParser p, DeserializationContext ctxt, TypeDeserializer typeDeserializer) throws IOException {
+            return deserialize(p, ctxt);
+        }
+
+        private Measurable<?, ?, ?> fromString(String text, DeserializationContext ctxt) throws IOException {
+            var separator = text.lastIndexOf(MeasurableString.SEPARATOR);
+            if (separator < 1) {
+                throw ctxt.weirdStringException(text, type, "Not a valid MeasurableString");
+            }
+            BigDecimal magnitude;
+            try {
+                magnitude = new BigDecimal(text.substring(0, separator).trim());
+            } catch (NumberFormatException e) {
+                throw ctxt.weirdStringException(text, type, "The amount is not a number");
+            }
+            return of(magnitude, unitOf(text.substring(separator + 1), type, ctxt));
+        }
+
+        /**
+         * Reads the former {@code {"@class": ..., "unitType": [..., "KG"], "magnitude": 1.5}} form.
+         */
+        private Measurable<?, ?, ?> fromObject(JsonParser p, DeserializationContext ctxt) throws IOException {
+            BaseUnit<?> unit = null;
+            BigDecimal magnitude = null;
+            var name = p.currentToken() == JsonToken.START_OBJECT ? p.nextFieldName() : p.currentName();
+            for (; name != null; name = p.nextFieldName()) {
+                var token = p.nextToken();
+                switch (name) {
+                    case "unitType" -> unit = readUnit(p, type, ctxt);
+                    case "magnitude" -> magnitude = token == JsonToken.VALUE_STRING ? new BigDecimal(p.getText()) : p.getDecimalValue();
+                    default -> p.skipChildren();
+                }
+            }
+            if (unit == null || magnitude == null) {
+                return ctxt.reportInputMismatch(this, "Expected unitType and magnitude of %s", type.getSimpleName());
+            }
+            return of(magnitude, unit);
+        }
+
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        private static Measurable<?, ?, ?> of(BigDecimal magnitude, BaseUnit<?> unit) {
+            return (Measurable<?, ?, ?>) MeasurableMath.of(magnitude, (BaseUnit) unit);
+        }
+    }
+
+    @SuppressWarnings("rawtypes")
+    private static final class BaseUnitDeserializer<T extends BaseUnit> extends JsonDeserializer<T> {
+
+        private final Class<T> type;
+
+        BaseUnitDeserializer(Class<T> type) {
+            this.type = type;
+        }
+
+        @Override
+        public T deserialize(JsonParser p, DeserializationContext ctxt) throws IOException {
+            var result = readUnit(p, type, ctxt);
+            if (!type.isInstance(result)) {
+                return ctxt.reportInputMismatch(this, "Cannot read [%s] as %s", result, type.getSimpleName());
+            }
+            return type.cast(result);
+        }
+
+        @Override
+        public Object deserializeWithType(JsonParser p, DeserializationContext ctxt, TypeDeserializer typeDeserializer) throws IOException {
+            return deserialize(p, ctxt);
+        }
+    }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.flow;
+
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+import org.openwms.core.units.converter.Units;
+
+import java.math.BigDecimal;
+import java.util.concurrent.Executor;
+import java.util.function.BiConsumer;
+
+import static java.lang.String.format;
+
+/**
+ * A MeasurableParser parses strings like {@literal 24 PC} into {@link Measurable}s of one dimension. Strings that cannot be parsed or that
+ * belong to another dimension either terminate the flow with an {@link IllegalArgumentException} or are passed to a handler and skipped.
+ *
+ * @param <E> The type of Measurable
+ * @param <T> The type of BaseUnit
+ * @author Heiko Scherrer
+ */
+public class MeasurableParser<E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> extends MeasurableProcessor<String, E> {
+
+    private final T dimension;
+    private final BiConsumer<String, RuntimeException> invalidHandler;
+
+    private MeasurableParser(T dimension, BiConsumer<String, RuntimeException> invalidHandler, Executor executor, int maxBufferCapacity,
+            int batchSize) {
+        super(executor, maxBufferCapacity, batchSize);
+        this.dimension = dimension;
+        this.invalidHandler = invalidHandler;
+    }
+
+    /**
+     * Create a MeasurableParser that terminates the flow on invalid input.
+     *
+     * @param dimension Any unit of the expected dimension
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     */
+    public static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> MeasurableParser<E, T> of(T dimension) {
+        return of(dimension, null);
+    }
+
+    /**
+     * Create a MeasurableParser that skips invalid input.
+     *
+     * @param dimension Any unit of the expected dimension
+     * @param invalidHandler Is called with each invalid input and the cause, if {@literal null} the flow is terminated instead
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     */
+    public static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> MeasurableParser<E, T> of(T dimension,
+            BiConsumer<String, RuntimeException> invalidHandler) {
+        return of(dimension, invalidHandler, VIRTUAL_THREADS, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Create a MeasurableParser.
+     *
+     * @param dimension Any unit of the expected dimension
+     * @param invalidHandler Is called with each invalid input and the cause, if {@literal null} the flow is terminated instead
+     * @param executor The Executor that serves subscribers
+     * @param batchSize The number of items requested from upstream at once
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     */
+    public static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> MeasurableParser<E, T> of(T dimension,
+            BiConsumer<String, RuntimeException> invalidHandler, Executor executor, int batchSize) {
+        if (dimension == null) {
+            throw new IllegalArgumentException("dimension is null");
+        }
+        return new MeasurableParser<>(dimension, invalidHandler, executor, Math.max(batchSize, DEFAULT_BATCH_SIZE), batchSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void process(String item) {
+        E result;
+        try {
+            var measurable = Units.getMeasurable(item);
+            if (measurable == null || !dimension.getAll().contains(measurable.getUnitType())) {
+                throw new IllegalArgumentException(format("Not a quantity of the dimension of [%s]: [%s]", dimension.name(), item));
+            }
+            result = (E) measurable;
+        } catch (RuntimeException e) {
+            if (invalidHandler == null) {
+                throw e instanceof IllegalArgumentException ? e : new IllegalArgumentException(e.getMessage(), e);
+            }
+            invalidHandler.accept(item, e);
+            return;
+        }
+        submit(result);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.flow;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.SubmissionPublisher;
+
+import static java.lang.String.format;
+
+/**
+ * A MeasurableProcessor is the base class of all {@link Flow.Processor}s in this package. It requests items from upstream in batches and
+ * publishes results with a {@link SubmissionPublisher}, which buffers a bounded number of items per subscriber. When a subscriber falls
+ * behind, publishing blocks the upstream thread until buffer space is available, hence backpressure is propagated upstream. By default
+ * subscribers are served by virtual threads, so blocking is cheap.
+ *
+ * @param <I> The type of incoming items
+ * @param <O> The type of published items
+ * @author Heiko Scherrer
+ */
+public abstract class MeasurableProcessor<I, O> extends SubmissionPublisher<O> implements Flow.Processor<I, O> {
+
+    /** Default number of items requested from upstream at once: {@value} */
+    public static final int DEFAULT_BATCH_SIZE = 256;
+    /** An {@link Executor} that runs each task in a new virtual thread. */
+    public static final Executor VIRTUAL_THREADS = task -> Thread.ofVirtual().start(task);
+
+    private final int batchSize;
+    private Flow.Subscription subscription;
+    private int pending;
+
+    /**
+     * Create a new MeasurableProcessor that requests {@value #DEFAULT_BATCH_SIZE} items at once and serves subscribers on virtual threads.
+     */
+    protected MeasurableProcessor() {
+        this(VIRTUAL_THREADS, Flow.defaultBufferSize(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Create a new MeasurableProcessor.
+     *
+     * @param executor The Executor that serves subscribers
+     * @param maxBufferCapacity The maximum number of buffered items per subscriber
+     * @param batchSize The number of items requested from upstream at once
+     */
+    protected MeasurableProcessor(Executor executor, int maxBufferCapacity, int batchSize) {
+        super(executor, maxBufferCapacity);
+        if (batchSize <= 0) {
+            throw new IllegalArgumentException(format("batchSize must be positive [%d]", batchSize));
+        }
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onSubscribe(Flow.Subscription subscription) {
+        if (this.subscription != null) {
+            subscription.cancel();
+            return;
+        }
+        this.subscription = subscription;
+        pending = batchSize;
+        subscription.request(batchSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onNext(I item) {
+        try {
+            process(item);
+        } catch (RuntimeException e) {
+            subscription.cancel();
+            closeExceptionally(e);
+            return;
+        }
+        if (--pending == batchSize / 2) {
+            pending += batchSize;
+            subscription.request(batchSize);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public void onError(Throwable throwable) {
+        closeExceptionally(throwable);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Calls {@link #complete()} before all subscribers are completed.
+     * </p>
+     */
+    @Override
+    public void onComplete() {
+        try {
+            complete();
+        } catch (RuntimeException e) {
+            closeExceptionally(e);
+            return;
+        }
+        close();
+    }
+
+    /**
+     * Process one incoming item and {@link #submit(Object)} zero or more results.
+     *
+     * @param item The incoming item
+     */
+    protected abstract void process(I item);
+
+    /**
+     * Called when upstream has completed to publish outstanding results. The default does nothing.
+     */
+    protected void complete() {
+        // nothing to flush by default
+    }
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.flow;
+
+import org.openwms.core.units.MeasurableMath;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+
+import java.math.BigDecimal;
+import java.util.concurrent.Executor;
+
+/**
+ * An UnitNormalizer converts every {@link Measurable} into one target unit. Terminating conversions are exact, non-terminating ones, like
+ * {@code PC} to {@code DOZ}, are rounded to {@link java.math.MathContext#DECIMAL128} by {@link MeasurableMath}. Items that are already
+ * expressed in the target unit are passed on as they are.
+ *
+ * @param <E> The type of Measurable
+ * @param <T> The type of BaseUnit
+ * @author Heiko Scherrer
+ */
+public class UnitNormalizer<E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>>
+        extends MeasurableProcessor<Measurable<BigDecimal, E, T>, E> {
+
+    private final T targetUnit;
+
+    private UnitNormalizer(T targetUnit, Executor executor, int maxBufferCapacity, int batchSize) {
+        super(executor, maxBufferCapacity, batchSize);
+        this.targetUnit = targetUnit;
+    }
+
+    /**
+     * Create a new UnitNormalizer.
+     *
+     * @param targetUnit The unit to convert into
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     */
+    public static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> UnitNormalizer<E, T> of(T targetUnit) {
+        return of(targetUnit, VIRTUAL_THREADS, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Create a new UnitNormalizer.
+     *
+     * @param targetUnit The unit to convert into
+     * @param executor The Executor that serves subscribers
+     * @param batchSize The number of items requested from upstream at once
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     */
+    public static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> UnitNormalizer<E, T> of(T targetUnit, Executor executor,
+            int batchSize) {
+        MeasurableMath.factorOf(targetUnit); // fail fast on unsupported units
+        return new UnitNormalizer<>(targetUnit, executor, Math.max(batchSize, DEFAULT_BATCH_SIZE), batchSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void process(Measurable<BigDecimal, E, T> item) {
+        if (item.getUnitType() == targetUnit) {
+            submit((E) item);
+        } else {
+            submit(MeasurableMath.fromBase(MeasurableMath.toBase(item), targetUnit));
+        }
+    }
+}
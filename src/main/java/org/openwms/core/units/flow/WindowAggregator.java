@@ -0,0 +1,107 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.flow;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+import org.openwms.core.units.stats.MeasurableSummaryStatistics;
+
+import java.math.BigDecimal;
+import java.util.concurrent.Executor;
+
+import static java.lang.String.format;
+
+/**
+ * A WindowAggregator aggregates consecutive windows of a fixed number of {@link Measurable}s and publishes one
+ * {@link MeasurableSummaryStatistics} per window. An incomplete last window is published when upstream completes. Memory is bounded by
+ * one window aggregate, independent of the window size.
+ *
+ * @param <E> The type of Measurable
+ * @param <T> The type of BaseUnit
+ * @author Heiko Scherrer
+ */
+public class WindowAggregator<E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>>
+        extends MeasurableProcessor<Measurable<BigDecimal, E, T>, MeasurableSummaryStatistics<E, T>> {
+
+    private final T targetUnit;
+    private final long windowSize;
+    private MeasurableSummaryStatistics<E, T> current;
+
+    private WindowAggregator(T targetUnit, long windowSize, Executor executor, int maxBufferCapacity, int batchSize) {
+        super(executor, maxBufferCapacity, batchSize);
+        this.targetUnit = targetUnit;
+        this.windowSize = windowSize;
+        this.current = new MeasurableSummaryStatistics<>(targetUnit);
+    }
+
+    /**
+     * Create a new WindowAggregator.
+     *
+     * @param targetUnit The unit the aggregates are expressed in
+     * @param windowSize The number of items per window
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     * @throws IllegalArgumentException if the targetUnit is not supported or the windowSize is not positive
+     */
+    public static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> WindowAggregator<E, T> of(T targetUnit, long windowSize) {
+        return of(targetUnit, windowSize, VIRTUAL_THREADS, DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Create a new WindowAggregator.
+     *
+     * @param targetUnit The unit the aggregates are expressed in
+     * @param windowSize The number of items per window
+     * @param executor The Executor that serves subscribers
+     * @param batchSize The number of items requested from upstream at once
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     * @throws IllegalArgumentException if the targetUnit is not supported or the windowSize is not positive
+     */
+    public static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> WindowAggregator<E, T> of(T targetUnit, long windowSize,
+            Executor executor, int batchSize) {
+        FixedPoint.factorOf(targetUnit); // fail fast on unsupported units
+        if (windowSize <= 0) {
+            throw new IllegalArgumentException(format("windowSize must be positive [%d]", windowSize));
+        }
+        return new WindowAggregator<>(targetUnit, windowSize, executor, Math.max(batchSize, DEFAULT_BATCH_SIZE), batchSize);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void process(Measurable<BigDecimal, E, T> item) {
+        current.accept(item);
+        if (current.getCount() == windowSize) {
+            submit(current);
+            current = new MeasurableSummaryStatistics<>(targetUnit);
+        }
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    protected void complete() {
+        if (current.getCount() > 0) {
+            submit(current);
+        }
+    }
+}
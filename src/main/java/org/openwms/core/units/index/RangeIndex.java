@@ -0,0 +1,349 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.index;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.ObjLongConsumer;
+
+/**
+ * A RangeIndex maps keys, like location ids, to a {@link Measurable} of one dimension, like the free capacity of a location, and answers
+ * range, floor and ceiling queries on these values. Values are kept as {@link FixedPoint} values in a sorted primitive array with the keys in
+ * a parallel array, so queries are a binary search followed by a scan of the result. Inserts, updates and removals shift the tail of the
+ * arrays. Keys with equal values are kept in the order they were last inserted or updated: each key carries an insertion sequence that
+ * breaks ties, so a key is found by binary search even among many equal values, like empty locations.
+ * <p>
+ * A RangeIndex is not thread-safe, concurrent access must be synchronized externally.
+ * </p>
+ *
+ * @param <K> The type of key
+ * @param <E> The type of Measurable
+ * @param <T> The type of BaseUnit
+ * @author Heiko Scherrer
+ */
+public class RangeIndex<K, E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> {
+
+    private final T unit;
+    private final HashMap<K, Entry> entriesByKey;
+    private long[] values;
+    private long[] sequences;
+    private Object[] keys;
+    private int size;
+    private long nextSequence;
+
+    private record Entry(long fixed, long sequence) {}
+
+    private RangeIndex(T unit, int initialCapacity) {
+        this.unit = unit;
+        this.entriesByKey = new HashMap<>(Math.max(16, initialCapacity * 4 / 3 + 1));
+        this.values = new long[Math.max(8, initialCapacity)];
+        this.sequences = new long[values.length];
+        this.keys = new Object[values.length];
+    }
+
+    /**
+     * Create a new and empty RangeIndex.
+     *
+     * @param unit The unit values are returned in
+     * @param <K> The type of key
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     */
+    public static <K, E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> RangeIndex<K, E, T> of(T unit) {
+        return of(unit, 16);
+    }
+
+    /**
+     * Create a new and empty RangeIndex.
+     *
+     * @param unit The unit values are returned in
+     * @param initialCapacity The number of keys to expect
+     * @param <K> The type of key
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     */
+    public static <K, E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> RangeIndex<K, E, T> of(T unit, int initialCapacity) {
+        FixedPoint.factorOf(unit); // fail fast on unsupported units
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative");
+        }
+        return new RangeIndex<>(unit, initialCapacity);
+    }
+
+    /**
+     * Insert the {@code key} with its {@code value}, or update the value of an existing key.
+     *
+     * @param key The key
+     * @param value The value
+     * @throws ArithmeticException if the value is finer than the fixed-point resolution
+     */
+    public void put(K key, Measurable<BigDecimal, E, T> value) {
+        if (value == null) {
+            throw new IllegalArgumentException("value is null");
+        }
+        putFixed(key, FixedPoint.toFixed(value));
+    }
+
+    /**
+     * Insert the {@code key} with a {@link FixedPoint} value, or update the value of an existing key.
+     *
+     * @param key The key
+     * @param fixed The fixed-point value
+     */
+    public void putFixed(K key, long fixed) {
+        if (key == null) {
+            throw new IllegalArgumentException("key is null");
+        }
+        var previous = entriesByKey.get(key);
+        if (previous != null) {
+            if (previous.fixed() == fixed) {
+                return;
+            }
+            removeAt(positionOf(key, previous));
+        }
+        var entry = new Entry(fixed, nextSequence++);
+        entriesByKey.put(key, entry);
+        insertAt(upperBound(fixed), key, entry);
+    }
+
+    /**
+     * Remove the {@code key}.
+     *
+     * @param key The key
+     * @return {@literal true} if the key was known
+     */
+    public boolean remove(K key) {
+        var previous = entriesByKey.remove(key);
+        if (previous == null) {
+            return false;
+        }
+        removeAt(positionOf(key, previous));
+        return true;
+    }
+
+    /**
+     * Return the value of {@code key}.
+     *
+     * @param key The key
+     * @return The value, or empty if the key is unknown
+     */
+    public Optional<E> get(K key) {
+        var entry = entriesByKey.get(key);
+        return entry == null ? Optional.empty() : Optional.of(FixedPoint.fromFixed(entry.fixed(), unit));
+    }
+
+    /**
+     * Check whether the {@code key} is indexed.
+     *
+     * @param key The key
+     * @return {@literal true} if the key is known
+     */
+    public boolean containsKey(K key) {
+        return entriesByKey.containsKey(key);
+    }
+
+    /**
+     * Return the number of keys.
+     *
+     * @return The number of keys
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return all keys with a value between {@code from} and {@code to}, both inclusive, in ascending order of their values.
+     *
+     * @param from The lower bound
+     * @param to The upper bound
+     * @return The matching keys
+     */
+    public List<K> range(Measurable<BigDecimal, E, T> from, Measurable<BigDecimal, E, T> to) {
+        return rangeFixed(FixedPoint.toFixed(from, RoundingMode.CEILING), FixedPoint.toFixed(to, RoundingMode.FLOOR));
+    }
+
+    /**
+     * Return all keys with a value of at least {@code from}, in ascending order of their values.
+     *
+     * @param from The lower bound, inclusive
+     * @return The matching keys
+     */
+    public List<K> atLeast(Measurable<BigDecimal, E, T> from) {
+        return rangeFixed(FixedPoint.toFixed(from, RoundingMode.CEILING), Long.MAX_VALUE);
+    }
+
+    /**
+     * Return all keys with a value of at most {@code to}, in ascending order of their values.
+     *
+     * @param to The upper bound, inclusive
+     * @return The matching keys
+     */
+    public List<K> atMost(Measurable<BigDecimal, E, T> to) {
+        return rangeFixed(Long.MIN_VALUE, FixedPoint.toFixed(to, RoundingMode.FLOOR));
+    }
+
+    /**
+     * Return all keys with a {@link FixedPoint} value between {@code from} and {@code to}, both inclusive.
+     *
+     * @param from The fixed-point lower bound
+     * @param to The fixed-point upper bound
+     * @return The matching keys in ascending order of their values
+     */
+    public List<K> rangeFixed(long from, long to) {
+        var result = new ArrayList<K>();
+        forEachInRange(from, to, (k, v) -> result.add(k));
+        return result;
+    }
+
+    /**
+     * Pass each key with a {@link FixedPoint} value between {@code from} and {@code to}, both inclusive, and its value to the {@code action}
+     * in ascending order of the values.
+     *
+     * @param from The fixed-point lower bound
+     * @param to The fixed-point upper bound
+     * @param action The callback
+     */
+    @SuppressWarnings("unchecked")
+    public void forEachInRange(long from, long to, ObjLongConsumer<? super K> action) {
+        for (int i = lowerBound(from), end = upperBound(to); i < end; i++) {
+            action.accept((K) keys[i], values[i]);
+        }
+    }
+
+    /**
+     * Return the number of keys with a {@link FixedPoint} value between {@code from} and {@code to}, both inclusive.
+     *
+     * @param from The fixed-point lower bound
+     * @param to The fixed-point upper bound
+     * @return The number of matching keys
+     */
+    public int countFixed(long from, long to) {
+        return from > to ? 0 : upperBound(to) - lowerBound(from);
+    }
+
+    /**
+     * Return the key with the greatest value less than or equal to {@code value}.
+     *
+     * @param value The value
+     * @return The key, or empty if all values are greater
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<K> floor(Measurable<BigDecimal, E, T> value) {
+        var i = upperBound(FixedPoint.toFixed(value, RoundingMode.FLOOR)) - 1;
+        return i < 0 ? Optional.empty() : Optional.of((K) keys[i]);
+    }
+
+    /**
+     * Return the key with the least value greater than or equal to {@code value}.
+     *
+     * @param value The value
+     * @return The key, or empty if all values are less
+     */
+    @SuppressWarnings("unchecked")
+    public Optional<K> ceiling(Measurable<BigDecimal, E, T> value) {
+        var i = lowerBound(FixedPoint.toFixed(value, RoundingMode.CEILING));
+        return i < size ? Optional.of((K) keys[i]) : Optional.empty();
+    }
+
+    /* Index of the first value >= fixed. */
+    private int lowerBound(long fixed) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            var mid = (lo + hi) >>> 1;
+            if (values[mid] < fixed) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /* Index of the first value > fixed. */
+    private int upperBound(long fixed) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            var mid = (lo + hi) >>> 1;
+            if (values[mid] <= fixed) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /* Index of the entry, ordered by value and then by sequence. */
+    private int positionOf(K key, Entry entry) {
+        int lo = 0, hi = size;
+        while (lo < hi) {
+            var mid = (lo + hi) >>> 1;
+            var cmp = values[mid] != entry.fixed()
+                    ? Long.compare(values[mid], entry.fixed())
+                    : Long.compare(sequences[mid], entry.sequence());
+            if (cmp < 0) {
+                lo = mid + 1;
+            } else if (cmp > 0) {
+                hi = mid;
+            } else {
+                return mid;
+            }
+        }
+        throw new IllegalStateException("Index is inconsistent for key [%s]".formatted(key));
+    }
+
+    private void insertAt(int i, K key, Entry entry) {
+        if (size == values.length) {
+            var capacity = size + (size >> 1);
+            values = Arrays.copyOf(values, capacity);
+            sequences = Arrays.copyOf(sequences, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+        }
+        System.arraycopy(values, i, values, i + 1, size - i);
+        System.arraycopy(sequences, i, sequences, i + 1, size - i);
+        System.arraycopy(keys, i, keys, i + 1, size - i);
+        values[i] = entry.fixed();
+        sequences[i] = entry.sequence();
+        keys[i] = key;
+        size++;
+    }
+
+    private void removeAt(int i) {
+        System.arraycopy(values, i + 1, values, i, size - i - 1);
+        System.arraycopy(sequences, i + 1, sequences, i, size - i - 1);
+        System.arraycopy(keys, i + 1, keys, i, size - i - 1);
+        keys[--size] = null;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "RangeIndex{unit=%s, size=%d}".formatted(unit, size);
+    }
+}
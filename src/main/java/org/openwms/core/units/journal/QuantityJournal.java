@@ -0,0 +1,343 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.journal;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+import org.openwms.core.units.api.UnitCodes;
+import org.openwms.core.units.concurrent.QuantityMap;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.stream.LongStream;
+
+import static java.lang.String.format;
+
+/**
+ * A QuantityJournal is an append-only log of quantity movements, each a delta of one dimension for a numeric key like a stock id, written
+ * through a memory-mapped file. It keeps the running total per key in a {@link QuantityMap} and writes these totals as snapshot on
+ * request. Opening a journal loads the last snapshot and replays only the records appended afterwards, in parallel.
+ * <p>
+ * The journal file starts with a header of {@value #HEADER_SIZE} bytes, followed by records of {@value #RECORD_SIZE} bytes in big-endian
+ * order:
+ * <pre>
+ *  0  long  key
+ *  8  long  delta as {@link FixedPoint} value
+ * 16  long  timestamp in milliseconds since the epoch
+ * 24  int   {@link UnitCodes code} of the unit the delta was given in
+ * 28  int   reserved
+ * </pre>
+ * The record count in the header is updated after a record is written. The operating system writes mapped pages back in any order, so
+ * only the records appended before the last {@link #force()} are guaranteed to be intact after a crash. A file holds up to
+ * {@value #MAX_RECORDS} records, as a mapping is limited to 2 GB. Appends are serialized, reading the totals is thread-safe.
+ *
+ * @param <E> The type of Measurable
+ * @param <T> The type of BaseUnit
+ * @author Heiko Scherrer
+ */
+public final class QuantityJournal<E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> implements Closeable {
+
+    /** Size of the file header in bytes. */
+    public static final int HEADER_SIZE = 64;
+    /** Size of one record in bytes. */
+    public static final int RECORD_SIZE = 32;
+    /** Maximum number of records of one file, limited by the size of a mapping: {@value} */
+    public static final int MAX_RECORDS = (Integer.MAX_VALUE - HEADER_SIZE) / RECORD_SIZE;
+    /** Number of records the file grows by at least. */
+    static final int DEFAULT_CAPACITY = 1 << 16;
+    private static final int MAGIC = 0x4F57514A;
+    private static final int SNAPSHOT_MAGIC = 0x4F575153;
+    private static final int VERSION = 1;
+    private static final int COUNT_OFFSET = 16;
+
+    private final T unit;
+    private final Path snapshotFile;
+    private final FileChannel channel;
+    private final QuantityMap<Long, E, T> totals;
+    private final long maxRecords;
+    private MappedByteBuffer buffer;
+    private long capacity;
+    private long count;
+
+    private QuantityJournal(T unit, Path snapshotFile, FileChannel channel, long maxRecords) {
+        this.unit = unit;
+        this.snapshotFile = snapshotFile;
+        this.channel = channel;
+        this.totals = QuantityMap.of(unit);
+        this.maxRecords = maxRecords;
+    }
+
+    /**
+     * Open a journal, or create it if the file does not exist, and restore the running totals from the snapshot and the journal.
+     *
+     * @param journalFile The journal file
+     * @param snapshotFile The file snapshots are written to, it does not need to exist
+     * @param unit The unit totals are expressed in
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The opened journal
+     * @throws IOException if reading either file fails
+     * @throws IllegalArgumentException if a file is no journal or snapshot of the {@code unit}'s dimension or its header is corrupted
+     */
+    public static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> QuantityJournal<E, T> open(Path journalFile,
+            Path snapshotFile, T unit) throws IOException {
+        return open(journalFile, snapshotFile, unit, MAX_RECORDS);
+    }
+
+    static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> QuantityJournal<E, T> open(Path journalFile, Path snapshotFile,
+            T unit, long maxRecords) throws IOException {
+        if (journalFile == null || snapshotFile == null || unit == null) {
+            throw new IllegalArgumentException("journalFile, snapshotFile and unit must not be null");
+        }
+        var channel = FileChannel.open(journalFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        var journal = new QuantityJournal<E, T>(unit, snapshotFile, channel, maxRecords);
+        try {
+            journal.init(journalFile);
+        } catch (IOException | RuntimeException e) {
+            channel.close();
+            throw e;
+        }
+        return journal;
+    }
+
+    private void init(Path journalFile) throws IOException {
+        var baseUnitCode = UnitCodes.codeOf(unit.getBaseUnit());
+        var empty = channel.size() == 0;
+        if (!empty && channel.size() < HEADER_SIZE) {
+            throw new IllegalArgumentException(format("File is not a quantity journal [%s]", journalFile));
+        }
+        var records = empty ? 0 : (channel.size() - HEADER_SIZE) / RECORD_SIZE;
+        if (records > maxRecords) {
+            throw new IllegalArgumentException(format("File is larger than a quantity journal [%s]", journalFile));
+        }
+        map(Math.min(maxRecords, Math.max(DEFAULT_CAPACITY, records)));
+        if (empty) {
+            buffer.putInt(0, MAGIC).putInt(4, VERSION).putInt(8, RECORD_SIZE).putInt(12, baseUnitCode).putLong(COUNT_OFFSET, 0);
+        } else if (buffer.getInt(0) != MAGIC || buffer.getInt(4) != VERSION || buffer.getInt(12) != baseUnitCode) {
+            throw new IllegalArgumentException(format("File is not a quantity journal of [%s] [%s]", unit.getBaseUnit(), journalFile));
+        }
+        count = buffer.getLong(COUNT_OFFSET);
+        if (count < 0 || count > records) {
+            throw new IllegalArgumentException(format("Journal count [%d] does not match the file [%s]", count, journalFile));
+        }
+        var sequence = Files.exists(snapshotFile) ? readSnapshot(baseUnitCode) : 0;
+        if (sequence > count) {
+            throw new IllegalArgumentException(format("Snapshot [%s] is ahead of the journal [%s]", snapshotFile, journalFile));
+        }
+        var mapped = buffer;
+        LongStream.range(sequence, count).parallel().forEach(i -> {
+            var offset = offsetOf(i);
+            totals.addFixed(mapped.getLong(offset), mapped.getLong(offset + 8));
+        });
+    }
+
+    private void map(long records) throws IOException {
+        buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, HEADER_SIZE + records * RECORD_SIZE);
+        capacity = records;
+    }
+
+    static long grow(long capacity, long maxRecords) {
+        return Math.min(maxRecords, capacity + Math.max(capacity, DEFAULT_CAPACITY));
+    }
+
+    private static int offsetOf(long sequence) {
+        return Math.toIntExact(HEADER_SIZE + sequence * RECORD_SIZE);
+    }
+
+    /**
+     * Append a movement with the current time.
+     *
+     * @param key The key
+     * @param delta The quantity to add, negative to remove
+     * @return The sequence number of the record
+     * @throws IOException if the file cannot grow
+     * @throws IllegalStateException if the journal already holds {@value #MAX_RECORDS} records
+     */
+    public long append(long key, Measurable<BigDecimal, E, T> delta) throws IOException {
+        return append(key, delta, System.currentTimeMillis());
+    }
+
+    /**
+     * Append a movement.
+     *
+     * @param key The key
+     * @param delta The quantity to add, negative to remove
+     * @param timestamp The time of the movement in milliseconds since the epoch
+     * @return The sequence number of the record
+     * @throws IOException if the file cannot grow
+     * @throws IllegalStateException if the journal already holds {@value #MAX_RECORDS} records
+     */
+    public synchronized long append(long key, Measurable<BigDecimal, E, T> delta, long timestamp) throws IOException {
+        var fixed = FixedPoint.toFixed(delta);
+        if (count == capacity) {
+            if (capacity == maxRecords) {
+                throw new IllegalStateException(format("Journal is full with [%s] records", count));
+            }
+            map(grow(capacity, maxRecords));
+        }
+        var offset = offsetOf(count);
+        buffer.putLong(offset, key)
+                .putLong(offset + 8, fixed)
+                .putLong(offset + 16, timestamp)
+                .putInt(offset + 24, UnitCodes.codeOf(delta.getUnitType()))
+                .putInt(offset + 28, 0);
+        buffer.putLong(COUNT_OFFSET, count + 1);
+        totals.addFixed(key, fixed);
+        return count++;
+    }
+
+    /**
+     * Pass the records from {@code fromSequence} on in sequence order to the {@code consumer}, e.g. for auditing.
+     *
+     * @param fromSequence The sequence number of the first record
+     * @param consumer Receives the records
+     */
+    public void forEach(long fromSequence, RecordConsumer consumer) {
+        MappedByteBuffer records;
+        long to;
+        synchronized (this) {
+            records = buffer;
+            to = count;
+        }
+        for (var i = Math.max(0, fromSequence); i < to; i++) {
+            var offset = offsetOf(i);
+            consumer.accept(i, records.getLong(offset), UnitCodes.unitOf(records.getInt(offset + 24)), records.getLong(offset + 8),
+                    records.getLong(offset + 16));
+        }
+    }
+
+    /**
+     * Return the running totals.
+     *
+     * @return The live totals per key, not to be modified
+     */
+    public QuantityMap<Long, E, T> getTotals() {
+        return totals;
+    }
+
+    /**
+     * Return the number of records.
+     *
+     * @return The number of records
+     */
+    public synchronized long size() {
+        return count;
+    }
+
+    /**
+     * Write the running totals and the number of records they contain to the snapshot file. The totals are copied while appends are
+     * blocked, the file is written afterwards and replaces the previous snapshot atomically.
+     *
+     * @throws IOException if writing the snapshot fails
+     */
+    public void snapshot() throws IOException {
+        long sequence;
+        long[] keys;
+        long[] values;
+        synchronized (this) {
+            sequence = count;
+            keys = new long[totals.size()];
+            values = new long[keys.length];
+            var index = new int[1];
+            totals.forEachFixed((key, fixed) -> {
+                keys[index[0]] = key;
+                values[index[0]++] = fixed;
+            });
+        }
+        var tmp = snapshotFile.resolveSibling(snapshotFile.getFileName() + ".tmp");
+        try (var out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            out.writeInt(SNAPSHOT_MAGIC);
+            out.writeInt(UnitCodes.codeOf(unit.getBaseUnit()));
+            out.writeLong(sequence);
+            out.writeInt(keys.length);
+            for (var i = 0; i < keys.length; i++) {
+                out.writeLong(keys[i]);
+                out.writeLong(values[i]);
+            }
+        }
+        Files.move(tmp, snapshotFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    private long readSnapshot(int baseUnitCode) throws IOException {
+        try (var in = new DataInputStream(new BufferedInputStream(Files.newInputStream(snapshotFile)))) {
+            if (in.readInt() != SNAPSHOT_MAGIC || in.readInt() != baseUnitCode) {
+                throw new IllegalArgumentException(format("File is not a snapshot of [%s] [%s]", unit.getBaseUnit(), snapshotFile));
+            }
+            var sequence = in.readLong();
+            var size = in.readInt();
+            for (var i = 0; i < size; i++) {
+                totals.addFixed(in.readLong(), in.readLong());
+            }
+            return sequence;
+        }
+    }
+
+    /**
+     * Write the mapped records to the storage device.
+     */
+    public synchronized void force() {
+        buffer.force();
+    }
+
+    /**
+     * Write the mapped records to the storage device and close the file.
+     *
+     * @throws IOException if closing fails
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        buffer.force();
+        channel.close();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "QuantityJournal{unit=%s, size=%s}".formatted(unit, size());
+    }
+
+    /**
+     * A RecordConsumer receives journal records without allocation.
+     */
+    @FunctionalInterface
+    public interface RecordConsumer {
+
+        /**
+         * Accept a record.
+         *
+         * @param sequence The sequence number of the record
+         * @param key The key
+         * @param unit The unit the delta was given in
+         * @param fixed The delta as {@link FixedPoint} value
+         * @param timestamp The time of the movement in milliseconds since the epoch
+         */
+        void accept(long sequence, long key, BaseUnit<?> unit, long fixed, long timestamp);
+    }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.offheap;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+import org.openwms.core.units.api.UnitCodes;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * A QuantityLayout exports {@link Measurable}s into buffers outside of the Java heap and imports them back. Each quantity is an element of
+ * {@value #ELEMENT_SIZE} bytes in little-endian order, aligned to {@literal 8} bytes:
+ * <pre>
+ *  0  long  magnitude as {@link FixedPoint} value of the base unit
+ *  8  int   {@link UnitCodes code} of the unit
+ * 12  int   reserved, always zero
+ * </pre>
+ * A buffer contains nothing but consecutive elements, so native tools can read it as an array of {@code struct { int64_t fixed; int32_t
+ * unit; int32_t reserved; }}. Exported buffers are direct or mapped and therefore not managed by the garbage collector.
+ *
+ * @author Heiko Scherrer
+ */
+public final class QuantityLayout {
+
+    /** Size of one element in bytes. */
+    public static final int ELEMENT_SIZE = 16;
+    private static final int UNIT_OFFSET = 8;
+
+    private QuantityLayout() {}
+
+    /**
+     * Export quantities into a new direct buffer.
+     *
+     * @param quantities The quantities to export
+     * @return The buffer in the byte order of the layout, positioned at zero with one element per quantity
+     */
+    public static ByteBuffer export(Collection<? extends Measurable<?, ?, ?>> quantities) {
+        var buffer = ByteBuffer.allocateDirect(Math.multiplyExact(quantities.size(), ELEMENT_SIZE));
+        write(quantities, buffer);
+        return buffer.flip().order(ByteOrder.LITTLE_ENDIAN);
+    }
+
+    /**
+     * Export quantities into a file that is memory-mapped for writing, an existing file is replaced.
+     *
+     * @param quantities The quantities to export
+     * @param file The target file
+     * @throws IOException if the file cannot be written
+     */
+    public static void export(Collection<? extends Measurable<?, ?, ?>> quantities, Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            var buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, Math.multiplyExact((long) quantities.size(), ELEMENT_SIZE));
+            write(quantities, buffer);
+            buffer.force();
+        }
+    }
+
+    /**
+     * Map a file of exported quantities for reading.
+     *
+     * @param file The file
+     * @return The mapped buffer in the byte order of the layout
+     * @throws IOException if the file cannot be read
+     * @throws IllegalArgumentException if the file size is not a multiple of {@value #ELEMENT_SIZE}
+     */
+    public static MappedByteBuffer map(Path file) throws IOException {
+        try (var channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() % ELEMENT_SIZE != 0) {
+                throw new IllegalArgumentException(format("File size is not a multiple of [%s] [%s]", ELEMENT_SIZE, file));
+            }
+            var buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            buffer.order(ByteOrder.LITTLE_ENDIAN);
+            return buffer;
+        }
+    }
+
+    /**
+     * Write quantities into the {@code target} buffer starting at its position, which is advanced behind the last element.
+     *
+     * @param quantities The quantities to write
+     * @param target The buffer
+     * @throws java.nio.BufferOverflowException if the remaining space is too small
+     */
+    public static void write(Collection<? extends Measurable<?, ?, ?>> quantities, ByteBuffer target) {
+        var buffer = target.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        for (var quantity : quantities) {
+            buffer.putLong(FixedPoint.toFixed(quantity)).putInt(UnitCodes.codeOf(quantity.getUnitType())).putInt(0);
+        }
+        target.position(buffer.position());
+    }
+
+    /**
+     * Write {@link FixedPoint} values of one unit into the {@code target} buffer starting at its position, which is advanced behind the last
+     * element.
+     *
+     * @param fixed The fixed-point values
+     * @param unit The unit of all values
+     * @param target The buffer
+     * @throws java.nio.BufferOverflowException if the remaining space is too small
+     */
+    public static void writeFixed(long[] fixed, BaseUnit<?> unit, ByteBuffer target) {
+        var code = UnitCodes.codeOf(unit);
+        var buffer = target.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        for (var value : fixed) {
+            buffer.putLong(value).putInt(code).putInt(0);
+        }
+        target.position(buffer.position());
+    }
+
+    /**
+     * Read all remaining elements of the {@code source} buffer, the position of the buffer is not changed.
+     *
+     * @param source The buffer
+     * @return The quantities in their original unit
+     * @throws IllegalArgumentException if an element has an unknown unit code
+     */
+    public static List<Measurable<?, ?, ?>> read(ByteBuffer source) {
+        var buffer = source.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        var count = buffer.remaining() / ELEMENT_SIZE;
+        var result = new ArrayList<Measurable<?, ?, ?>>(count);
+        var offset = buffer.position();
+        for (var i = 0; i < count; i++, offset += ELEMENT_SIZE) {
+            result.add(fromFixed(buffer.getLong(offset), UnitCodes.unitOf(buffer.getInt(offset + UNIT_OFFSET))));
+        }
+        return result;
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    private static Measurable<?, ?, ?> fromFixed(long fixed, BaseUnit<?> unit) {
+        return (Measurable<?, ?, ?>) FixedPoint.fromFixed(fixed, (BaseUnit) unit);
+    }
+
+    /**
+     * Read the {@link FixedPoint} values of the remaining elements of the {@code source} buffer without allocation, the position of the
+     * buffer is not changed.
+     *
+     * @param source The buffer
+     * @param fixed Receives the fixed-point values
+     * @param unitCodes Receives the unit codes, may be {@literal null}
+     * @return The number of elements read, limited by the length of {@code fixed}
+     */
+    public static int readFixed(ByteBuffer source, long[] fixed, int[] unitCodes) {
+        var buffer = source.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        var count = Math.min(fixed.length, buffer.remaining() / ELEMENT_SIZE);
+        var offset = buffer.position();
+        for (var i = 0; i < count; i++, offset += ELEMENT_SIZE) {
+            fixed[i] = buffer.getLong(offset);
+            if (unitCodes != null) {
+                unitCodes[i] = buffer.getInt(offset + UNIT_OFFSET);
+            }
+        }
+        return count;
+    }
+}
@@ -0,0 +1,108 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.packaging;
+
+import org.openwms.core.units.api.Piece;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+
+/**
+ * A Decomposition is a quantity of pieces expressed in the levels of a {@link PackagingHierarchy}.
+ *
+ * @author Heiko Scherrer
+ */
+public final class Decomposition {
+
+    private final PackagingHierarchy hierarchy;
+    private final long[] counts;
+
+    Decomposition(PackagingHierarchy hierarchy, long[] counts) {
+        this.hierarchy = hierarchy;
+        this.counts = counts;
+    }
+
+    /**
+     * Return the number of units of a {@code level}.
+     *
+     * @param level The name of the level
+     * @return The number of units
+     * @throws IllegalArgumentException if the level is unknown
+     */
+    public long getCount(String level) {
+        return counts[hierarchy.levelIndex(level)];
+    }
+
+    /**
+     * Return the count per level, from the base level up.
+     *
+     * @return A copy of the counts
+     */
+    public long[] getCounts() {
+        return counts.clone();
+    }
+
+    /**
+     * Return the decomposed quantity.
+     *
+     * @return The quantity in pieces
+     */
+    public Piece toPieces() {
+        return hierarchy.toPieces(hierarchy.levelAt(0), hierarchy.compose(counts));
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Uses the hierarchy and counts for comparison.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Decomposition other)) {
+            return false;
+        }
+        return hierarchy.equals(other.hierarchy) && Arrays.equals(counts, other.counts);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Uses the counts for calculation.
+     */
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(counts);
+    }
+
+    /**
+     * Return the non-zero counts from the top level down, e.g. {@literal 1 PALLET + 3 CASE + 2 INNER + 4 PC}.
+     *
+     * @return The string
+     */
+    @Override
+    public String toString() {
+        var parts = new ArrayList<String>(counts.length);
+        for (var l = counts.length - 1; l >= 0; l--) {
+            if (counts[l] != 0) {
+                parts.add(counts[l] + " " + hierarchy.levelAt(l));
+            }
+        }
+        return parts.isEmpty() ? "0 " + hierarchy.levelAt(0) : String.join(" + ", parts);
+    }
+}
@@ -0,0 +1,269 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.packaging;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.PieceUnit;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * A PackagingHierarchy is an ordered list of packaging levels, from single pieces up to e.g. inner packs, cases, layers and pallets, each
+ * containing a whole number of the level below. Quantities of pieces are decomposed into the levels like a number into the digits of a
+ * mixed-radix numeral system, e.g. {@literal 1000 PC} into {@literal 1 PALLET + 3 CASE + 2 INNER + 4 PC}. The number of pieces per level is
+ * calculated once, so decomposition needs integer division only and never drops a remainder.
+ * <p>
+ * Instances are immutable and thread-safe.
+ * </p>
+ *
+ * @author Heiko Scherrer
+ */
+public final class PackagingHierarchy {
+
+    private final String[] levels;
+    /** Number of pieces per level, ascending. */
+    private final long[] pieces;
+
+    private PackagingHierarchy(String[] levels, long[] pieces) {
+        this.levels = levels;
+        this.pieces = pieces;
+    }
+
+    /**
+     * Create a PackagingHierarchy of the base level only.
+     *
+     * @param baseLevel The name of the level of single pieces, e.g. {@literal PC}
+     * @return The new instance
+     */
+    public static PackagingHierarchy of(String baseLevel) {
+        if (baseLevel == null || baseLevel.isBlank()) {
+            throw new IllegalArgumentException("baseLevel must not be blank");
+        }
+        return new PackagingHierarchy(new String[]{baseLevel}, new long[]{1});
+    }
+
+    /**
+     * Return a copy of this PackagingHierarchy with another level on top.
+     *
+     * @param level The name of the level, e.g. {@literal CASE}
+     * @param quantity The number of units of the current top level one unit of the new level contains
+     * @return The new instance
+     * @throws IllegalArgumentException if the name is already used or the quantity is not positive
+     */
+    public PackagingHierarchy then(String level, int quantity) {
+        if (level == null || level.isBlank() || indexOf(level) >= 0) {
+            throw new IllegalArgumentException(format("Level must not be blank or used twice [%s]", level));
+        }
+        if (quantity < 1) {
+            throw new IllegalArgumentException(format("Quantity of level [%s] must be positive [%d]", level, quantity));
+        }
+        var newLevels = Arrays.copyOf(levels, levels.length + 1);
+        var newPieces = Arrays.copyOf(pieces, pieces.length + 1);
+        newLevels[levels.length] = level;
+        newPieces[pieces.length] = Math.multiplyExact(pieces[pieces.length - 1], quantity);
+        return new PackagingHierarchy(newLevels, newPieces);
+    }
+
+    /**
+     * Return the names of all levels, from the base level up.
+     *
+     * @return An unmodifiable list
+     */
+    public List<String> getLevels() {
+        return List.of(levels);
+    }
+
+    /**
+     * Return the number of pieces one unit of a {@code level} contains.
+     *
+     * @param level The name of the level
+     * @return The number of pieces
+     * @throws IllegalArgumentException if the level is unknown
+     */
+    public long piecesPer(String level) {
+        return pieces[levelIndex(level)];
+    }
+
+    /**
+     * Decompose a quantity of pieces into the levels of this hierarchy, using as many units of higher levels as possible.
+     *
+     * @param quantity The quantity, must be a whole and non-negative number of pieces
+     * @return The Decomposition
+     */
+    public Decomposition decompose(Piece quantity) {
+        var counts = new long[levels.length];
+        decompose(toPieces(quantity), counts, 0);
+        return new Decomposition(this, counts);
+    }
+
+    /**
+     * Decompose a number of pieces into the levels of this hierarchy without allocation.
+     *
+     * @param quantity The number of pieces, must not be negative
+     * @param counts Receives the count per level from the base level up, starting at {@code offset}
+     * @param offset The index of {@code counts} to write the base level count to
+     */
+    public void decompose(long quantity, long[] counts, int offset) {
+        if (quantity < 0) {
+            throw new IllegalArgumentException(format("quantity must not be negative [%d]", quantity));
+        }
+        var rest = quantity;
+        for (var l = levels.length - 1; l > 0; l--) {
+            counts[offset + l] = rest / pieces[l];
+            rest %= pieces[l];
+        }
+        counts[offset] = rest;
+    }
+
+    /**
+     * Decompose many quantities, like the lines of a pick list, without allocation.
+     *
+     * @param quantities The numbers of pieces
+     * @param counts Receives the counts of each quantity, one block of {@code getLevels().size()} counts per quantity, must be large enough
+     */
+    public void decomposeAll(long[] quantities, long[] counts) {
+        for (var i = 0; i < quantities.length; i++) {
+            decompose(quantities[i], counts, i * levels.length);
+        }
+    }
+
+    /**
+     * Split many quantities into full units of one {@code level} and the remaining pieces, e.g. to decide between case picking and each
+     * picking. Runs without allocation.
+     *
+     * @param level The name of the level
+     * @param quantities The numbers of pieces, must not be negative
+     * @param units Receives the number of full units of the level per quantity
+     * @param remainders Receives the remaining pieces per quantity
+     * @return The total number of full units
+     * @throws IllegalArgumentException if the level is unknown or a quantity is negative
+     */
+    public long splitAll(String level, long[] quantities, long[] units, long[] remainders) {
+        var divisor = pieces[levelIndex(level)];
+        var total = 0L;
+        for (var i = 0; i < quantities.length; i++) {
+            if (quantities[i] < 0) {
+                throw new IllegalArgumentException(format("quantity must not be negative [%d]", quantities[i]));
+            }
+            units[i] = quantities[i] / divisor;
+            remainders[i] = quantities[i] % divisor;
+            total += units[i];
+        }
+        return total;
+    }
+
+    /**
+     * Convert a number of units of a {@code level} into pieces.
+     *
+     * @param level The name of the level
+     * @param count The number of units
+     * @return The quantity in pieces
+     */
+    public Piece toPieces(String level, long count) {
+        return FixedPoint.fromFixed(Math.multiplyExact(Math.multiplyExact(pieces[levelIndex(level)], count), FixedPoint.factorOf(PieceUnit.PC)),
+                PieceUnit.PC);
+    }
+
+    /**
+     * Convert counts per level into the total number of pieces.
+     *
+     * @param counts The count per level from the base level up, may be shorter than the number of levels
+     * @return The number of pieces
+     */
+    public long compose(long... counts) {
+        if (counts.length > levels.length) {
+            throw new IllegalArgumentException(format("Expected at most %d counts but got %d", levels.length, counts.length));
+        }
+        var result = 0L;
+        for (var l = 0; l < counts.length; l++) {
+            result = Math.addExact(result, Math.multiplyExact(counts[l], pieces[l]));
+        }
+        return result;
+    }
+
+    long toPieces(Piece quantity) {
+        var fixed = FixedPoint.toFixed(quantity);
+        var perPiece = FixedPoint.factorOf(PieceUnit.PC);
+        if (fixed < 0 || fixed % perPiece != 0) {
+            throw new IllegalArgumentException(format("quantity must be a whole and non-negative number of pieces [%s]", quantity));
+        }
+        return fixed / perPiece;
+    }
+
+    String levelAt(int index) {
+        return levels[index];
+    }
+
+    private int indexOf(String level) {
+        for (var l = 0; l < levels.length; l++) {
+            if (levels[l].equals(level)) {
+                return l;
+            }
+        }
+        return -1;
+    }
+
+    int levelIndex(String level) {
+        var index = indexOf(level);
+        if (index < 0) {
+            throw new IllegalArgumentException(format("Unknown level [%s]", level));
+        }
+        return index;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Uses the levels and their number of pieces for comparison.
+     */
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof PackagingHierarchy other)) {
+            return false;
+        }
+        return Arrays.equals(levels, other.levels) && Arrays.equals(pieces, other.pieces);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Uses the levels and their number of pieces for calculation.
+     */
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(levels) + Arrays.hashCode(pieces);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        var parts = new ArrayList<String>(levels.length);
+        for (var l = 0; l < levels.length; l++) {
+            parts.add(pieces[l] + " PC/" + levels[l]);
+        }
+        return "PackagingHierarchy" + parts;
+    }
+}
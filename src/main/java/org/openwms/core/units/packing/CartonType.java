@@ -0,0 +1,89 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.packing;
+
+import org.openwms.core.units.api.Dimension;
+import org.openwms.core.units.api.Weight;
+
+/**
+ * A CartonType is a kind of shipping carton with its inner {@link Dimension} and the maximum {@link Weight} of its contents.
+ *
+ * @param <C> The type of carton type id
+ * @author Heiko Scherrer
+ */
+public final class CartonType<C> {
+
+    private final C id;
+    private final Dimension dimension;
+    private final Weight maxWeight;
+
+    private CartonType(C id, Dimension dimension, Weight maxWeight) {
+        this.id = id;
+        this.dimension = dimension;
+        this.maxWeight = maxWeight;
+    }
+
+    /**
+     * Create a new CartonType.
+     *
+     * @param id The id of the carton type
+     * @param dimension The inner Dimension
+     * @param maxWeight The maximum Weight of the contents
+     * @param <C> The type of carton type id
+     * @return The new instance
+     */
+    public static <C> CartonType<C> of(C id, Dimension dimension, Weight maxWeight) {
+        if (id == null || dimension == null || maxWeight == null) {
+            throw new IllegalArgumentException("id, dimension and maxWeight must not be null");
+        }
+        return new CartonType<>(id, dimension, maxWeight);
+    }
+
+    /**
+     * Return the id.
+     *
+     * @return The id
+     */
+    public C getId() {
+        return id;
+    }
+
+    /**
+     * Return the inner Dimension.
+     *
+     * @return The Dimension
+     */
+    public Dimension getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Return the maximum Weight of the contents.
+     *
+     * @return The Weight
+     */
+    public Weight getMaxWeight() {
+        return maxWeight;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "CartonType{id=%s, dimension=%s, maxWeight=%s}".formatted(id, dimension, maxWeight);
+    }
+}
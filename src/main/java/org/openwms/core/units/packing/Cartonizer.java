@@ -0,0 +1,384 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.packing;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.Dimension;
+import org.openwms.core.units.api.MetricDimension;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.Weight;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import static java.lang.String.format;
+import static org.openwms.core.units.api.MetricDimensionUnit.MM;
+
+/**
+ * A Cartonizer chooses cartons for the pieces of an order under the weight and dimensional limits of a set of {@link CartonType}s.
+ * <p>
+ * Pieces are sorted by decreasing volume (first-fit-decreasing) and placed one after another at the first extreme point of a carton,
+ * trying all six orientations. Extreme points are the corners next to already placed pieces, ordered bottom up, so cartons are filled layer
+ * by layer. Carton types are tried in parallel; the smallest carton type that takes all remaining pieces wins, otherwise the one that
+ * takes the largest volume, and the search repeats with the pieces left over. The time budget limits the parallel search, once it is spent
+ * the remaining pieces are put into the largest carton types without comparing alternatives.
+ * </p>
+ * <p>
+ * Dimensions and weights are converted into millimeters and {@link FixedPoint} values once, the search itself works on primitive values.
+ * Instances are immutable and thread-safe.
+ * </p>
+ *
+ * @param <I> The type of item id
+ * @param <C> The type of carton type id
+ * @author Heiko Scherrer
+ */
+public final class Cartonizer<I, C> {
+
+    /** Default time budget of one call to {@link #pack(Collection)}. */
+    public static final Duration DEFAULT_BUDGET = Duration.ofMillis(100);
+
+    /** Carton types in ascending order of their volume. */
+    private final List<CartonType<C>> cartonTypes;
+    private final long[][] edges;
+    private final long[] maxWeights;
+    private final Duration budget;
+    private final Executor executor;
+
+    private Cartonizer(List<CartonType<C>> cartonTypes, Duration budget, Executor executor) {
+        this.cartonTypes = cartonTypes;
+        this.edges = new long[cartonTypes.size()][];
+        this.maxWeights = new long[cartonTypes.size()];
+        for (var t = 0; t < cartonTypes.size(); t++) {
+            edges[t] = cartonTypes.get(t).getDimension().toMillimeters();
+            maxWeights[t] = FixedPoint.toFixed(cartonTypes.get(t).getMaxWeight());
+        }
+        this.budget = budget;
+        this.executor = executor;
+    }
+
+    /**
+     * Create a Cartonizer with the {@link #DEFAULT_BUDGET} that searches on the common {@link ForkJoinPool}.
+     *
+     * @param cartonTypes The available carton types
+     * @param <I> The type of item id
+     * @param <C> The type of carton type id
+     * @return The new instance
+     */
+    public static <I, C> Cartonizer<I, C> of(Collection<CartonType<C>> cartonTypes) {
+        return of(cartonTypes, DEFAULT_BUDGET, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Create a Cartonizer.
+     *
+     * @param cartonTypes The available carton types
+     * @param budget The time budget of one call to {@link #pack(Collection)}
+     * @param executor The Executor to try carton types in parallel
+     * @param <I> The type of item id
+     * @param <C> The type of carton type id
+     * @return The new instance
+     */
+    public static <I, C> Cartonizer<I, C> of(Collection<CartonType<C>> cartonTypes, Duration budget, Executor executor) {
+        if (cartonTypes == null || cartonTypes.isEmpty()) {
+            throw new IllegalArgumentException("At least one carton type is required");
+        }
+        if (budget == null || budget.isNegative() || executor == null) {
+            throw new IllegalArgumentException(format("Invalid budget or executor [%s, %s]", budget, executor));
+        }
+        var sorted = cartonTypes.stream()
+                .sorted(Comparator.comparing(t -> t.getDimension().getVolume(MM)))
+                .toList();
+        return new Cartonizer<>(sorted, budget, executor);
+    }
+
+    /**
+     * Pack the {@code items} into cartons.
+     *
+     * @param items The items to pack
+     * @return The cartons to use and the pieces that fit into no carton type
+     */
+    public Packing<I, C> pack(Collection<Item<I>> items) {
+        var deadline = System.nanoTime() + budget.toNanos();
+        var pieces = new Pieces<>(List.copyOf(items));
+        var remaining = pieces.byDecreasingVolume();
+        var cartons = new ArrayList<PackedCarton<I, C>>();
+        while (remaining.length > 0) {
+            var best = search(pieces, remaining, deadline);
+            if (best.count == 0) {
+                break;
+            }
+            cartons.add(toCarton(best, pieces));
+            remaining = best.leftOver(remaining);
+        }
+        var unpacked = new LinkedHashMap<I, Piece>();
+        countByItem(pieces, remaining, remaining.length).forEach((item, count) -> unpacked.put(item, Piece.of(count)));
+        return new Packing<>(cartons, unpacked);
+    }
+
+    private Attempt search(Pieces<I> pieces, int[] remaining, long deadline) {
+        if (System.nanoTime() - deadline < 0) {
+            var futures = new ArrayList<CompletableFuture<Attempt>>(cartonTypes.size());
+            for (var t = 0; t < cartonTypes.size(); t++) {
+                var attempt = new Attempt(t, edges[t], maxWeights[t], remaining.length);
+                futures.add(CompletableFuture.supplyAsync(() -> attempt.fill(pieces, remaining, deadline, true), executor));
+            }
+            Attempt best = null;
+            for (var future : futures) {
+                var attempt = future.join();
+                if (!attempt.aborted && attempt.isBetterThan(best, remaining.length)) {
+                    best = attempt;
+                }
+            }
+            if (best != null) {
+                return best;
+            }
+        }
+        Attempt attempt = null;
+        for (var t = cartonTypes.size() - 1; t >= 0; t--) {
+            attempt = new Attempt(t, edges[t], maxWeights[t], remaining.length).fill(pieces, remaining, deadline, false);
+            if (attempt.count > 0) {
+                break;
+            }
+        }
+        return attempt;
+    }
+
+    private PackedCarton<I, C> toCarton(Attempt attempt, Pieces<I> pieces) {
+        var cartonType = cartonTypes.get(attempt.type);
+        var placements = new ArrayList<Placement<I>>(attempt.count);
+        for (var k = 0; k < attempt.count; k++) {
+            placements.add(new Placement<>(pieces.items.get(pieces.item[attempt.pieces[k]]).getId(), millimeters(attempt.x[k]),
+                    millimeters(attempt.y[k]), millimeters(attempt.z[k]),
+                    Dimension.of(millimeters(attempt.l[k]), millimeters(attempt.w[k]), millimeters(attempt.h[k]))));
+        }
+        var contents = new LinkedHashMap<I, Piece>();
+        countByItem(pieces, attempt.pieces, attempt.count).forEach((item, count) -> contents.put(item, Piece.of(count)));
+        Weight weight = FixedPoint.fromFixed(attempt.weight, cartonType.getMaxWeight().getUnitType());
+        return new PackedCarton<>(cartonType, weight, contents, placements);
+    }
+
+    private static <I> Map<I, Integer> countByItem(Pieces<I> pieces, int[] indexes, int length) {
+        var result = new LinkedHashMap<I, Integer>();
+        for (var k = 0; k < length; k++) {
+            result.merge(pieces.items.get(pieces.item[indexes[k]]).getId(), 1, Integer::sum);
+        }
+        return result;
+    }
+
+    private static MetricDimension millimeters(long value) {
+        return MetricDimension.of(BigDecimal.valueOf(value), MM);
+    }
+
+    /**
+     * All pieces of all items in millimeters and milligrams.
+     */
+    private static final class Pieces<I> {
+
+        private final List<Item<I>> items;
+        private final int[] item;
+        private final long[] length;
+        private final long[] width;
+        private final long[] height;
+        private final long[] weight;
+
+        private Pieces(List<Item<I>> items) {
+            this.items = items;
+            var size = items.stream().mapToInt(Item::getCount).sum();
+            this.item = new int[size];
+            this.length = new long[size];
+            this.width = new long[size];
+            this.height = new long[size];
+            this.weight = new long[size];
+            var p = 0;
+            for (var i = 0; i < items.size(); i++) {
+                var edges = items.get(i).getDimension().toMillimeters();
+                var fixed = FixedPoint.toFixed(items.get(i).getWeight());
+                for (var c = 0; c < items.get(i).getCount(); c++, p++) {
+                    item[p] = i;
+                    length[p] = edges[0];
+                    width[p] = edges[1];
+                    height[p] = edges[2];
+                    weight[p] = fixed;
+                }
+            }
+        }
+
+        private long volume(int p) {
+            return length[p] * width[p] * height[p];
+        }
+
+        private int[] byDecreasingVolume() {
+            return IntStream.range(0, item.length)
+                    .boxed()
+                    .sorted(Comparator.comparingLong(this::volume).reversed())
+                    .mapToInt(Integer::intValue)
+                    .toArray();
+        }
+    }
+
+    /**
+     * One carton of one type being filled with pieces.
+     */
+    private static final class Attempt {
+
+        /** The six orientations of a piece as positions of its length, width and height. */
+        private static final int[][] ORIENTATIONS = {{0, 1, 2}, {1, 0, 2}, {1, 2, 0}, {2, 0, 1}, {0, 2, 1}, {2, 1, 0}};
+
+        private final int type;
+        private final long cartonLength;
+        private final long cartonWidth;
+        private final long cartonHeight;
+        private final long maxWeight;
+        /** Extreme points as x, y, z ordered by z, y and x. */
+        private final List<long[]> points = new ArrayList<>();
+        private final int[] pieces;
+        private final long[] x;
+        private final long[] y;
+        private final long[] z;
+        private final long[] l;
+        private final long[] w;
+        private final long[] h;
+        private int count;
+        private long weight;
+        private long volume;
+        private boolean aborted;
+
+        private Attempt(int type, long[] edges, long maxWeight, int capacity) {
+            this.type = type;
+            this.cartonLength = edges[0];
+            this.cartonWidth = edges[1];
+            this.cartonHeight = edges[2];
+            this.maxWeight = maxWeight;
+            this.pieces = new int[capacity];
+            this.x = new long[capacity];
+            this.y = new long[capacity];
+            this.z = new long[capacity];
+            this.l = new long[capacity];
+            this.w = new long[capacity];
+            this.h = new long[capacity];
+            points.add(new long[3]);
+        }
+
+        private Attempt fill(Pieces<?> all, int[] remaining, long deadline, boolean bounded) {
+            for (var k = 0; k < remaining.length; k++) {
+                if (bounded && (k & 63) == 63 && System.nanoTime() - deadline > 0) {
+                    aborted = true;
+                    return this;
+                }
+                var p = remaining[k];
+                if (weight + all.weight[p] <= maxWeight) {
+                    place(p, all.length[p], all.width[p], all.height[p], all.weight[p]);
+                }
+            }
+            return this;
+        }
+
+        private void place(int piece, long pieceLength, long pieceWidth, long pieceHeight, long pieceWeight) {
+            long[] edges = {pieceLength, pieceWidth, pieceHeight};
+            for (var e = 0; e < points.size(); e++) {
+                var point = points.get(e);
+                for (var orientation : ORIENTATIONS) {
+                    var pl = edges[orientation[0]];
+                    var pw = edges[orientation[1]];
+                    var ph = edges[orientation[2]];
+                    if (point[0] + pl <= cartonLength && point[1] + pw <= cartonWidth && point[2] + ph <= cartonHeight
+                            && isFree(point[0], point[1], point[2], pl, pw, ph)) {
+                        pieces[count] = piece;
+                        x[count] = point[0];
+                        y[count] = point[1];
+                        z[count] = point[2];
+                        l[count] = pl;
+                        w[count] = pw;
+                        h[count] = ph;
+                        count++;
+                        weight += pieceWeight;
+                        volume += pl * pw * ph;
+                        points.remove(e);
+                        addPoint(point[0] + pl, point[1], point[2]);
+                        addPoint(point[0], point[1] + pw, point[2]);
+                        addPoint(point[0], point[1], point[2] + ph);
+                        return;
+                    }
+                }
+            }
+        }
+
+        private boolean isFree(long px, long py, long pz, long pl, long pw, long ph) {
+            for (var k = 0; k < count; k++) {
+                if (px < x[k] + l[k] && x[k] < px + pl && py < y[k] + w[k] && y[k] < py + pw && pz < z[k] + h[k] && z[k] < pz + ph) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private void addPoint(long px, long py, long pz) {
+            if (px >= cartonLength || py >= cartonWidth || pz >= cartonHeight) {
+                return;
+            }
+            var i = 0;
+            for (; i < points.size(); i++) {
+                var point = points.get(i);
+                var cmp = Long.compare(point[2], pz);
+                if (cmp == 0) {
+                    cmp = Long.compare(point[1], py);
+                }
+                if (cmp == 0) {
+                    cmp = Long.compare(point[0], px);
+                }
+                if (cmp == 0) {
+                    return;
+                }
+                if (cmp > 0) {
+                    break;
+                }
+            }
+            points.add(i, new long[]{px, py, pz});
+        }
+
+        private boolean isBetterThan(Attempt other, int remaining) {
+            if (other == null) {
+                return true;
+            }
+            var complete = count == remaining;
+            var otherComplete = other.count == remaining;
+            if (complete != otherComplete) {
+                return complete;
+            }
+            // carton types are tried in ascending order of volume, so a complete attempt is only replaced by a smaller one
+            return !complete && volume > other.volume;
+        }
+
+        private int[] leftOver(int[] remaining) {
+            var packed = new BitSet();
+            for (var k = 0; k < count; k++) {
+                packed.set(pieces[k]);
+            }
+            return IntStream.of(remaining).filter(p -> !packed.get(p)).toArray();
+        }
+    }
+}
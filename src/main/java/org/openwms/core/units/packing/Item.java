@@ -0,0 +1,134 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.packing;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.Dimension;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.PieceUnit;
+import org.openwms.core.units.api.Weight;
+
+import static java.lang.String.format;
+
+/**
+ * An Item is a line to pack: a number of equal pieces, each with its {@link Dimension} and {@link Weight}.
+ *
+ * @param <I> The type of item id
+ * @author Heiko Scherrer
+ */
+public final class Item<I> {
+
+    private final I id;
+    private final Dimension dimension;
+    private final Weight weight;
+    private final Piece quantity;
+    private final int count;
+
+    private Item(I id, Dimension dimension, Weight weight, Piece quantity, int count) {
+        this.id = id;
+        this.dimension = dimension;
+        this.weight = weight;
+        this.quantity = quantity;
+        this.count = count;
+    }
+
+    /**
+     * Create a new Item.
+     *
+     * @param id The id of the item, e.g. the SKU or order position
+     * @param dimension The Dimension of one piece
+     * @param weight The Weight of one piece
+     * @param quantity The number of pieces, must be whole
+     * @param <I> The type of item id
+     * @return The new instance
+     * @throws IllegalArgumentException if an argument is {@literal null}, negative or the quantity is not a whole number of pieces
+     */
+    public static <I> Item<I> of(I id, Dimension dimension, Weight weight, Piece quantity) {
+        if (id == null || dimension == null || weight == null || quantity == null) {
+            throw new IllegalArgumentException("id, dimension, weight and quantity must not be null");
+        }
+        if (weight.isNegative() || quantity.isNegative()) {
+            throw new IllegalArgumentException(format("weight and quantity must not be negative [%s, %s]", weight, quantity));
+        }
+        var fixed = FixedPoint.toFixed(quantity);
+        var perPiece = FixedPoint.factorOf(PieceUnit.PC);
+        if (fixed % perPiece != 0) {
+            throw new IllegalArgumentException(format("quantity must be a whole number of pieces [%s]", quantity));
+        }
+        return new Item<>(id, dimension, weight, quantity, Math.toIntExact(fixed / perPiece));
+    }
+
+    /**
+     * Create a new Item of one piece.
+     *
+     * @param id The id of the item
+     * @param dimension The Dimension of the piece
+     * @param weight The Weight of the piece
+     * @param <I> The type of item id
+     * @return The new instance
+     */
+    public static <I> Item<I> of(I id, Dimension dimension, Weight weight) {
+        return of(id, dimension, weight, Piece.of(1));
+    }
+
+    /**
+     * Return the id.
+     *
+     * @return The id
+     */
+    public I getId() {
+        return id;
+    }
+
+    /**
+     * Return the Dimension of one piece.
+     *
+     * @return The Dimension
+     */
+    public Dimension getDimension() {
+        return dimension;
+    }
+
+    /**
+     * Return the Weight of one piece.
+     *
+     * @return The Weight
+     */
+    public Weight getWeight() {
+        return weight;
+    }
+
+    /**
+     * Return the number of pieces.
+     *
+     * @return The quantity
+     */
+    public Piece getQuantity() {
+        return quantity;
+    }
+
+    int getCount() {
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "Item{id=%s, dimension=%s, weight=%s, quantity=%s}".formatted(id, dimension, weight, quantity);
+    }
+}
@@ -0,0 +1,88 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.packing;
+
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.Weight;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A PackedCarton is one carton of a {@link Packing} with the pieces placed in it.
+ *
+ * @param <I> The type of item id
+ * @param <C> The type of carton type id
+ * @author Heiko Scherrer
+ */
+public final class PackedCarton<I, C> {
+
+    private final CartonType<C> cartonType;
+    private final Weight weight;
+    private final Map<I, Piece> contents;
+    private final List<Placement<I>> placements;
+
+    PackedCarton(CartonType<C> cartonType, Weight weight, Map<I, Piece> contents, List<Placement<I>> placements) {
+        this.cartonType = cartonType;
+        this.weight = weight;
+        this.contents = Map.copyOf(contents);
+        this.placements = List.copyOf(placements);
+    }
+
+    /**
+     * Return the type of the carton.
+     *
+     * @return The CartonType
+     */
+    public CartonType<C> getCartonType() {
+        return cartonType;
+    }
+
+    /**
+     * Return the Weight of the contents.
+     *
+     * @return The Weight, in the unit of the maximum weight of the carton type
+     */
+    public Weight getWeight() {
+        return weight;
+    }
+
+    /**
+     * Return the number of pieces per item in this carton.
+     *
+     * @return An unmodifiable map of item id to quantity
+     */
+    public Map<I, Piece> getContents() {
+        return contents;
+    }
+
+    /**
+     * Return the position of each piece in this carton in the order they were placed.
+     *
+     * @return An unmodifiable list
+     */
+    public List<Placement<I>> getPlacements() {
+        return placements;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "PackedCarton{cartonType=%s, weight=%s, contents=%s}".formatted(cartonType.getId(), weight, contents);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.packing;
+
+import org.openwms.core.units.api.Piece;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A Packing is the result of a {@link Cartonizer}: the cartons to use and the pieces that did not fit into any carton type.
+ *
+ * @param <I> The type of item id
+ * @param <C> The type of carton type id
+ * @author Heiko Scherrer
+ */
+public final class Packing<I, C> {
+
+    private final List<PackedCarton<I, C>> cartons;
+    private final Map<I, Piece> unpacked;
+
+    Packing(List<PackedCarton<I, C>> cartons, Map<I, Piece> unpacked) {
+        this.cartons = List.copyOf(cartons);
+        this.unpacked = Map.copyOf(unpacked);
+    }
+
+    /**
+     * Return the cartons.
+     *
+     * @return An unmodifiable list
+     */
+    public List<PackedCarton<I, C>> getCartons() {
+        return cartons;
+    }
+
+    /**
+     * Return the number of pieces per item that could not be packed, because they exceed every carton type in size or weight.
+     *
+     * @return An unmodifiable map of item id to quantity
+     */
+    public Map<I, Piece> getUnpacked() {
+        return unpacked;
+    }
+
+    /**
+     * Check whether all pieces have been packed.
+     *
+     * @return {@literal true} if nothing is left unpacked
+     */
+    public boolean isComplete() {
+        return unpacked.isEmpty();
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "Packing{cartons=%s, unpacked=%s}".formatted(cartons, unpacked);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.packing;
+
+import org.openwms.core.units.api.Dimension;
+import org.openwms.core.units.api.MetricDimension;
+
+/**
+ * A Placement is the position of one piece of an {@link Item} in a packed carton. The position is the corner of the piece closest to the
+ * origin of the carton, the Dimension is the piece as oriented in the carton.
+ *
+ * @param <I> The type of item id
+ * @author Heiko Scherrer
+ */
+public final class Placement<I> {
+
+    private final I itemId;
+    private final MetricDimension x;
+    private final MetricDimension y;
+    private final MetricDimension z;
+    private final Dimension dimension;
+
+    Placement(I itemId, MetricDimension x, MetricDimension y, MetricDimension z, Dimension dimension) {
+        this.itemId = itemId;
+        this.x = x;
+        this.y = y;
+        this.z = z;
+        this.dimension = dimension;
+    }
+
+    /**
+     * Return the id of the placed item.
+     *
+     * @return The id
+     */
+    public I getItemId() {
+        return itemId;
+    }
+
+    /**
+     * Return the offset along the length of the carton.
+     *
+     * @return The offset
+     */
+    public MetricDimension getX() {
+        return x;
+    }
+
+    /**
+     * Return the offset along the width of the carton.
+     *
+     * @return The offset
+     */
+    public MetricDimension getY() {
+        return y;
+    }
+
+    /**
+     * Return the offset along the height of the carton.
+     *
+     * @return The offset
+     */
+    public MetricDimension getZ() {
+        return z;
+    }
+
+    /**
+     * Return the Dimension of the piece as oriented in the carton.
+     *
+     * @return The Dimension
+     */
+    public Dimension getDimension() {
+        return dimension;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "Placement{itemId=%s, x=%s, y=%s, z=%s, dimension=%s}".formatted(itemId, x, y, z, dimension);
+    }
+}
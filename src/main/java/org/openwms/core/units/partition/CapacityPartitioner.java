@@ -0,0 +1,199 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.partition;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static java.lang.String.format;
+
+/**
+ * A CapacityPartitioner splits an ordered sequence of lines, like the pick lines of a wave, into consecutive batches, like totes or carts,
+ * so that no batch exceeds any of the given capacities, e.g. {@literal 20 KG} and {@literal 50 PC}. A new batch is started only when the
+ * next line would exceed a capacity, the order of lines is kept. A line that exceeds a capacity on its own forms a batch of its own.
+ * <p>
+ * The quantities of each dimension are converted into {@link FixedPoint} values and summed up to prefix sums, so the end of each batch is
+ * found by binary search instead of adding up {@link Measurable}s. Prefix sums of long sequences are computed in parallel with
+ * {@link Arrays#parallelPrefix(long[], java.util.function.LongBinaryOperator)}. Instances are immutable and thread-safe.
+ * </p>
+ *
+ * @author Heiko Scherrer
+ */
+public final class CapacityPartitioner {
+
+    /** Sequences of at least this length have their prefix sums computed in parallel: {@value} */
+    public static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private final Measurable<?, ?, ?>[] capacities;
+    private final BaseUnit<?>[] dimensions;
+    private final long[] limits;
+
+    private CapacityPartitioner(Measurable<?, ?, ?>[] capacities) {
+        this.capacities = capacities;
+        this.dimensions = new BaseUnit<?>[capacities.length];
+        this.limits = new long[capacities.length];
+        for (var d = 0; d < capacities.length; d++) {
+            dimensions[d] = capacities[d].getUnitType().getBaseUnit();
+            limits[d] = FixedPoint.toFixed(capacities[d]);
+        }
+    }
+
+    /**
+     * Create a CapacityPartitioner.
+     *
+     * @param capacities The capacity of a batch per dimension, e.g. a maximum Weight and Piece count
+     * @return The new instance
+     * @throws IllegalArgumentException if no or a negative capacity is given
+     */
+    public static CapacityPartitioner of(Measurable<?, ?, ?>... capacities) {
+        if (capacities == null || capacities.length == 0) {
+            throw new IllegalArgumentException("At least one capacity is required");
+        }
+        for (var capacity : capacities) {
+            if (capacity == null || capacity.isNegative()) {
+                throw new IllegalArgumentException(format("Capacities must not be null or negative [%s]", Arrays.toString(capacities)));
+            }
+        }
+        return new CapacityPartitioner(capacities.clone());
+    }
+
+    /**
+     * Split the {@code lines} into batches.
+     *
+     * @param lines The ordered lines
+     * @param quantities One function per capacity, in the same order, that returns the quantity of a line in that dimension
+     * @param <L> The type of line
+     * @return The index of the first line of each batch in ascending order, empty if there are no lines
+     * @throws IllegalArgumentException if a quantity is negative or of another dimension than its capacity
+     */
+    public <L> int[] split(List<L> lines, List<Function<? super L, ? extends Measurable<?, ?, ?>>> quantities) {
+        if (quantities.size() != capacities.length) {
+            throw new IllegalArgumentException(format("Expected %d quantities but got %d", capacities.length, quantities.size()));
+        }
+        var columns = new long[capacities.length][lines.size()];
+        for (var d = 0; d < capacities.length; d++) {
+            var quantity = quantities.get(d);
+            for (var i = 0; i < lines.size(); i++) {
+                var value = quantity.apply(lines.get(i));
+                if (value == null || value.getUnitType().getBaseUnit() != dimensions[d]) {
+                    throw new IllegalArgumentException(format("Quantity [%s] does not match the dimension of capacity [%s]", value,
+                            capacities[d]));
+                }
+                columns[d][i] = FixedPoint.toFixed(value);
+            }
+        }
+        return splitFixed(columns);
+    }
+
+    /**
+     * Split lines given as {@link FixedPoint} values into batches. The {@code columns} array is not modified.
+     *
+     * @param columns One column of fixed-point quantities per capacity, in the same order; all columns have one value per line
+     * @return The index of the first line of each batch in ascending order, empty if there are no lines
+     * @throws IllegalArgumentException if a value is negative or the columns differ in length
+     */
+    public int[] splitFixed(long[]... columns) {
+        if (columns.length != limits.length) {
+            throw new IllegalArgumentException(format("Expected %d columns but got %d", limits.length, columns.length));
+        }
+        var n = columns[0].length;
+        var prefixes = new long[columns.length][];
+        for (var d = 0; d < columns.length; d++) {
+            if (columns[d].length != n) {
+                throw new IllegalArgumentException("All columns must have the same length");
+            }
+            prefixes[d] = prefixSums(columns[d]);
+        }
+        var starts = new int[n == 0 ? 0 : 16];
+        var batches = 0;
+        for (var start = 0; start < n; ) {
+            if (batches == starts.length) {
+                starts = Arrays.copyOf(starts, batches * 2);
+            }
+            starts[batches++] = start;
+            var end = n;
+            for (var d = 0; d < prefixes.length && end > start + 1; d++) {
+                end = Math.min(end, endOf(prefixes[d], start, n, limits[d]));
+            }
+            start = Math.max(end, start + 1);
+        }
+        return Arrays.copyOf(starts, batches);
+    }
+
+    /**
+     * Split the {@code lines} into batches at the given start indexes.
+     *
+     * @param lines The ordered lines
+     * @param starts The index of the first line of each batch, as returned by {@link #split(List, List)}
+     * @param <L> The type of line
+     * @return One list of lines per batch, each a view on {@code lines}
+     */
+    public static <L> List<List<L>> toBatches(List<L> lines, int[] starts) {
+        var result = new ArrayList<List<L>>(starts.length);
+        for (var b = 0; b < starts.length; b++) {
+            result.add(lines.subList(starts[b], b + 1 < starts.length ? starts[b + 1] : lines.size()));
+        }
+        return result;
+    }
+
+    /* prefix[i] is the sum of the first i values. */
+    private static long[] prefixSums(long[] column) {
+        var prefix = new long[column.length + 1];
+        for (var i = 0; i < column.length; i++) {
+            if (column[i] < 0) {
+                throw new IllegalArgumentException(format("Quantities must not be negative, line [%d]", i));
+            }
+        }
+        System.arraycopy(column, 0, prefix, 1, column.length);
+        if (column.length >= PARALLEL_THRESHOLD) {
+            Arrays.parallelPrefix(prefix, Math::addExact);
+        } else {
+            for (var i = 1; i < prefix.length; i++) {
+                prefix[i] = Math.addExact(prefix[i - 1], prefix[i]);
+            }
+        }
+        return prefix;
+    }
+
+    /* The exclusive end of the longest batch from start that stays within limit. */
+    private static int endOf(long[] prefix, int start, int n, long limit) {
+        var max = prefix[start] > Long.MAX_VALUE - limit ? Long.MAX_VALUE : prefix[start] + limit;
+        int lo = start, hi = n;
+        while (lo < hi) {
+            var mid = (lo + hi + 1) >>> 1;
+            if (prefix[mid] <= max) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "CapacityPartitioner{capacities=%s}".formatted(Arrays.toString(capacities));
+    }
+}
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.persistence;
+
+import jakarta.persistence.Column;
+import org.hibernate.HibernateException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.spi.ValueAccess;
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.Measurable;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * A NormalizedUnitUserType maps a {@link Measurable} like the {@link NumericUnitUserType} and additionally persists its {@link FixedPoint}
+ * value, the magnitude in thousandths of the base unit of the dimension, e.g. milligrams for weights, into a third {@code BIGINT} column.
+ * The column is written from the other two on every insert and update and never read back. Range predicates and ordering across mixed
+ * units can then use an index on it, like {@code where e.weight.baseFixed > :min order by e.weight.baseFixed} with {@code min} bound to
+ * {@link #baseFixedOf(Measurable) baseFixedOf(Weight.of(5, KG))}.
+ *
+ * @author Heiko Scherrer
+ */
+public class NormalizedUnitUserType extends NumericUnitUserType {
+
+    public static class MeasurableMapper {
+        Long baseFixed;
+        @Column(precision = PRECISION, scale = SCALE)
+        BigDecimal magnitude;
+        Short unit;
+    }
+
+    /**
+     * Return the value of the base column for a {@link Measurable}, to bind it as query parameter.
+     *
+     * @param measurable The Measurable
+     * @return The fixed-point value, magnitudes finer than the resolution are rounded half up
+     * @throws ArithmeticException if the value exceeds the range of a {@code long}
+     */
+    public static long baseFixedOf(Measurable<?, ?, ?> measurable) {
+        return FixedPoint.toFixed(measurable, RoundingMode.HALF_UP);
+    }
+
+    @Override
+    public Class<?> embeddable() {
+        return MeasurableMapper.class;
+    }
+
+    @Override
+    public Measurable instantiate(ValueAccess valueAccess, SessionFactoryImplementor sessionFactory) {
+        // alphabetical, the base column is derived and not read
+        return of(valueAccess.getValue(1, BigDecimal.class), valueAccess.getValue(2, Short.class));
+    }
+
+    @Override
+    public Object getPropertyValue(Measurable component, int property) throws HibernateException {
+        // alphabetical
+        return switch (property) {
+            case 0 -> baseFixedOf(component);
+            case 1 -> component.getMagnitude();
+            case 2 -> codeOf(component);
+            default -> null;
+        };
+    }
+}
@@ -0,0 +1,188 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.persistence;
+
+import jakarta.persistence.Column;
+import org.hibernate.HibernateException;
+import org.hibernate.TypeMismatchException;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.metamodel.spi.ValueAccess;
+import org.hibernate.usertype.CompositeUserType;
+import org.openwms.core.units.MeasurableMath;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+import org.openwms.core.units.api.UnitCodes;
+import org.openwms.core.units.converter.Units;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+import static java.lang.String.format;
+
+/**
+ * A NumericUnitUserType is used by Hibernate to map a {@link Measurable} onto two columns, the magnitude as {@code NUMERIC} and the unit as
+ * {@code SMALLINT} holding its {@link UnitCodes code}. Unlike the {@link UnitUserType} the magnitude keeps its decimals and can be
+ * aggregated and indexed by the database, and a row is hydrated with an array lookup of the unit instead of parsing class names.
+ * <p>
+ * The magnitude column is declared as {@code NUMERIC(}{@value #PRECISION}{@code ,}{@value #SCALE}{@code )}, so decimals are only kept
+ * if an existing schema defines the column with at least this scale. The database rounds magnitudes with more decimals.
+ * </p>
+ * <p>
+ * Existing data written by the {@link UnitUserType} can be migrated with {@link #fromLegacy(String, String)}.
+ * </p>
+ *
+ * @author Heiko Scherrer
+ */
+public class NumericUnitUserType implements CompositeUserType<Measurable> {
+
+    /** Precision of the magnitude column: {@value} */
+    public static final int PRECISION = 38;
+    /** Scale of the magnitude column: {@value} */
+    public static final int SCALE = 12;
+    private static final Map<String, BaseUnit<?>> UNITS = new HashMap<>();
+
+    static {
+        for (var unit : Units.getAllUnits()) {
+            UNITS.put(unit.name(), unit);
+        }
+    }
+
+    public static class MeasurableMapper {
+        @Column(precision = PRECISION, scale = SCALE)
+        BigDecimal magnitude;
+        Short unit;
+    }
+
+    /**
+     * Convert the two column values written by the {@link UnitUserType}, like {@code "1.5"} and
+     * {@code "KG@org.openwms.core.units.api.Weight"}, into a {@link Measurable}. Decimals of the magnitude are kept.
+     *
+     * @param magnitude The magnitude column
+     * @param unitType The unit type column
+     * @return The Measurable, or {@literal null} if the unit type is {@literal null}
+     * @throws TypeMismatchException if the unit is not supported
+     */
+    public static Measurable<?, ?, ?> fromLegacy(String magnitude, String unitType) {
+        if (unitType == null) {
+            return null;
+        }
+        var separator = unitType.indexOf('@');
+        var unit = UNITS.get(separator < 0 ? unitType : unitType.substring(0, separator));
+        if (unit == null) {
+            throw new TypeMismatchException(format("Incompatible type: [%s]", unitType));
+        }
+        return of(new BigDecimal(magnitude), unit);
+    }
+
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static Measurable<?, ?, ?> of(BigDecimal magnitude, BaseUnit<?> unit) {
+        return (Measurable<?, ?, ?>) MeasurableMath.of(magnitude, (BaseUnit) unit);
+    }
+
+    static Measurable<?, ?, ?> of(BigDecimal magnitude, Short code) {
+        if (code == null) {
+            return null;
+        }
+        try {
+            return of(magnitude, UnitCodes.unitOf(code));
+        } catch (IllegalArgumentException e) {
+            throw new TypeMismatchException(format("Incompatible type: [%s]", code));
+        }
+    }
+
+    static Short codeOf(Measurable<?, ?, ?> component) {
+        return (short) UnitCodes.codeOf(component.getUnitType());
+    }
+
+    @Override
+    public Class<?> embeddable() {
+        return MeasurableMapper.class;
+    }
+
+    @Override
+    public Class<Measurable> returnedClass() {
+        return Measurable.class;
+    }
+
+    @Override
+    public Measurable instantiate(ValueAccess valueAccess, SessionFactoryImplementor sessionFactory) {
+        // alphabetical
+        return of(valueAccess.getValue(0, BigDecimal.class), valueAccess.getValue(1, Short.class));
+    }
+
+    @Override
+    public Object getPropertyValue(Measurable component, int property) throws HibernateException {
+        // alphabetical
+        return switch (property) {
+            case 0 -> component.getMagnitude();
+            case 1 -> codeOf(component);
+            default -> null;
+        };
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * Magnitudes are compared numerically, because the database may return them with a different scale.
+     */
+    @Override
+    public boolean equals(Measurable x, Measurable y) {
+        if (x == y) {
+            return true;
+        }
+        if (x == null || y == null || x.getUnitType() != y.getUnitType()) {
+            return false;
+        }
+        var magnitude = (BigDecimal) x.getMagnitude();
+        var other = (BigDecimal) y.getMagnitude();
+        return magnitude == null ? other == null : other != null && magnitude.compareTo(other) == 0;
+    }
+
+    @Override
+    public int hashCode(Measurable x) {
+        var magnitude = (BigDecimal) x.getMagnitude();
+        return Objects.hash(magnitude == null ? null : magnitude.stripTrailingZeros(), x.getUnitType());
+    }
+
+    @Override
+    public Measurable deepCopy(Measurable value) {
+        return value; // immutable
+    }
+
+    @Override
+    public boolean isMutable() {
+        return false;
+    }
+
+    @Override
+    public Serializable disassemble(Measurable value) {
+        return new Serializable[] { (BigDecimal) value.getMagnitude(), codeOf(value) };
+    }
+
+    @Override
+    public Measurable assemble(Serializable cached, Object owner) {
+        final var parts = (Serializable[]) cached;
+        return of((BigDecimal) parts[0], (Short) parts[1]);
+    }
+
+    @Override
+    public Measurable replace(Measurable detached, Measurable managed, Object owner) {
+        return detached;
+    }
+}
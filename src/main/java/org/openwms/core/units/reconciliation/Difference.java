@@ -0,0 +1,109 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.reconciliation;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+import org.openwms.core.units.verification.Direction;
+
+import java.math.BigDecimal;
+
+/**
+ * A Difference is a key where the counted quantity deviates from the expected quantity by more than the accepted tolerance. A key that
+ * exists on one side only is reported with a zero quantity on the other side.
+ *
+ * @param <K> The type of key
+ * @param <E> The type of Measurable
+ * @param <T> The type of BaseUnit
+ * @author Heiko Scherrer
+ */
+public final class Difference<K, E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> {
+
+    private final K key;
+    private final long expected;
+    private final long counted;
+    private final T unit;
+
+    Difference(K key, long expected, long counted, T unit) {
+        this.key = key;
+        this.expected = expected;
+        this.counted = counted;
+        this.unit = unit;
+    }
+
+    /**
+     * Return the key.
+     *
+     * @return The key
+     */
+    public K getKey() {
+        return key;
+    }
+
+    /**
+     * Return the expected quantity.
+     *
+     * @return The expected quantity, or zero if the key was not expected
+     */
+    public E getExpected() {
+        return FixedPoint.fromFixed(expected, unit);
+    }
+
+    /**
+     * Return the counted quantity.
+     *
+     * @return The counted quantity, or zero if the key was not counted
+     */
+    public E getCounted() {
+        return FixedPoint.fromFixed(counted, unit);
+    }
+
+    /**
+     * Return the counted minus the expected quantity.
+     *
+     * @return The deviation, negative if less than expected
+     */
+    public E getDeviation() {
+        return FixedPoint.fromFixed(getDeviationFixed(), unit);
+    }
+
+    /**
+     * Return the counted minus the expected quantity as {@link FixedPoint} value.
+     *
+     * @return The fixed-point deviation, negative if less than expected
+     */
+    public long getDeviationFixed() {
+        return Math.subtractExact(counted, expected);
+    }
+
+    /**
+     * Return whether less or more than expected has been counted.
+     *
+     * @return Either {@link Direction#UNDER} or {@link Direction#OVER}
+     */
+    public Direction getDirection() {
+        return counted < expected ? Direction.UNDER : Direction.OVER;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "Difference{key=%s, expected=%s, counted=%s}".formatted(key, getExpected(), getCounted());
+    }
+}
@@ -0,0 +1,244 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.reconciliation;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+import org.openwms.core.units.verification.Tolerance;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.lang.String.format;
+
+/**
+ * A Reconciler compares expected quantities, like the book stock per location and SKU, against counted quantities and reports each key
+ * where both deviate by more than a {@link Tolerance}. Quantities of both sides may be given in any unit of the same dimension, they are
+ * normalised to {@link FixedPoint} values before being compared.
+ * <p>
+ * Inputs that are sorted by key are merge-joined with {@link #merge(Stream, Stream)} in a single pass and in constant memory. Unsorted
+ * inputs are reconciled with {@link #reconcile(Stream, Stream)}, which hash-partitions the keys and totals both sides in parallel and
+ * therefore holds one entry per key in memory. Instances are immutable and thread-safe.
+ * </p>
+ *
+ * @param <K> The type of key
+ * @param <E> The type of Measurable
+ * @param <T> The type of BaseUnit
+ * @author Heiko Scherrer
+ */
+public final class Reconciler<K, E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> {
+
+    /** Minimum number of keys for the comparison of unsorted inputs to run in parallel. */
+    static final int PARALLEL_THRESHOLD = 1 << 13;
+
+    private final T unit;
+    private final Tolerance tolerance;
+    private final Comparator<? super K> keyOrder;
+
+    private Reconciler(T unit, Tolerance tolerance, Comparator<? super K> keyOrder) {
+        this.unit = unit;
+        this.tolerance = tolerance;
+        this.keyOrder = keyOrder;
+    }
+
+    /**
+     * Create a Reconciler for keys in their natural order.
+     *
+     * @param unit The unit differences are expressed in
+     * @param tolerance The accepted deviation in both directions
+     * @param <K> The type of key
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     */
+    public static <K extends Comparable<? super K>, E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> Reconciler<K, E, T> of(
+            T unit, Tolerance tolerance) {
+        return of(unit, tolerance, Comparator.naturalOrder());
+    }
+
+    /**
+     * Create a Reconciler.
+     *
+     * @param unit The unit differences are expressed in
+     * @param tolerance The accepted deviation in both directions
+     * @param keyOrder The order both sorted inputs follow, also used to sort the result of unsorted inputs
+     * @param <K> The type of key
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     */
+    public static <K, E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> Reconciler<K, E, T> of(T unit, Tolerance tolerance,
+            Comparator<? super K> keyOrder) {
+        if (unit == null || tolerance == null || keyOrder == null) {
+            throw new IllegalArgumentException("unit, tolerance and keyOrder must not be null");
+        }
+        var absolute = tolerance.getAbsolute();
+        if (absolute != null && absolute.getUnitType().getBaseUnit() != unit.getBaseUnit()) {
+            throw new IllegalArgumentException(format("Tolerance [%s] does not match the dimension of [%s]", tolerance, unit));
+        }
+        return new Reconciler<>(unit, tolerance, keyOrder);
+    }
+
+    /**
+     * Merge-join two inputs that are sorted by key. Consecutive entries with the same key are summed up. The returned stream is lazy and
+     * reads both inputs only as far as needed, closing it closes both inputs.
+     *
+     * @param expected The expected quantities, sorted by key
+     * @param counted The counted quantities, sorted by key
+     * @return The differences outside the tolerance in key order
+     * @throws IllegalArgumentException while consuming, if an input is not sorted by key
+     */
+    public Stream<Difference<K, E, T>> merge(Stream<? extends Map.Entry<? extends K, ? extends Measurable<BigDecimal, E, T>>> expected,
+            Stream<? extends Map.Entry<? extends K, ? extends Measurable<BigDecimal, E, T>>> counted) {
+        var spliterator = new Spliterators.AbstractSpliterator<Difference<K, E, T>>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+
+            private Cursor left;
+            private Cursor right;
+
+            @Override
+            public boolean tryAdvance(Consumer<? super Difference<K, E, T>> action) {
+                if (left == null) {
+                    left = new Cursor(expected.iterator());
+                    right = new Cursor(counted.iterator());
+                }
+                while (left.present || right.present) {
+                    int cmp;
+                    if (!right.present) {
+                        cmp = -1;
+                    } else if (!left.present) {
+                        cmp = 1;
+                    } else {
+                        cmp = keyOrder.compare(left.key, right.key);
+                    }
+                    var key = cmp <= 0 ? left.key : right.key;
+                    var expectedFixed = cmp <= 0 ? left.fixed : 0;
+                    var countedFixed = cmp >= 0 ? right.fixed : 0;
+                    if (cmp <= 0) {
+                        left.advance();
+                    }
+                    if (cmp >= 0) {
+                        right.advance();
+                    }
+                    if (exceeds(expectedFixed, countedFixed)) {
+                        action.accept(new Difference<>(key, expectedFixed, countedFixed, unit));
+                        return true;
+                    }
+                }
+                return false;
+            }
+        };
+        return StreamSupport.stream(spliterator, false).onClose(expected::close).onClose(counted::close);
+    }
+
+    /**
+     * Reconcile two inputs in any order. Both inputs are consumed in parallel into totals per key, that are then compared in parallel.
+     *
+     * @param expected The expected quantities
+     * @param counted The counted quantities
+     * @return The differences outside the tolerance sorted by key
+     */
+    public List<Difference<K, E, T>> reconcile(Stream<? extends Map.Entry<? extends K, ? extends Measurable<BigDecimal, E, T>>> expected,
+            Stream<? extends Map.Entry<? extends K, ? extends Measurable<BigDecimal, E, T>>> counted) {
+        var totals = new ConcurrentHashMap<K, Totals>();
+        expected.parallel().forEach(e -> totals.computeIfAbsent(e.getKey(), k -> new Totals()).expected
+                .addAndGet(FixedPoint.toFixed(e.getValue())));
+        counted.parallel().forEach(e -> totals.computeIfAbsent(e.getKey(), k -> new Totals()).counted
+                .addAndGet(FixedPoint.toFixed(e.getValue())));
+        var differences = new ConcurrentLinkedQueue<Difference<K, E, T>>();
+        totals.forEach(PARALLEL_THRESHOLD, (key, t) -> {
+            var expectedFixed = t.expected.get();
+            var countedFixed = t.counted.get();
+            if (exceeds(expectedFixed, countedFixed)) {
+                differences.add(new Difference<>(key, expectedFixed, countedFixed, unit));
+            }
+        });
+        var result = new ArrayList<>(differences);
+        result.sort(Comparator.comparing(Difference::getKey, keyOrder));
+        return result;
+    }
+
+    private boolean exceeds(long expected, long counted) {
+        return Math.abs(Math.subtractExact(counted, expected)) > tolerance.toFixed(expected);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "Reconciler{unit=%s, tolerance=%s}".formatted(unit, tolerance);
+    }
+
+    private static final class Totals {
+        private final AtomicLong expected = new AtomicLong();
+        private final AtomicLong counted = new AtomicLong();
+    }
+
+    /**
+     * Reads one sorted input and sums up consecutive entries of the same key.
+     */
+    private final class Cursor {
+
+        private final Iterator<? extends Map.Entry<? extends K, ? extends Measurable<BigDecimal, E, T>>> entries;
+        private Map.Entry<? extends K, ? extends Measurable<BigDecimal, E, T>> next;
+        private boolean present;
+        private K key;
+        private long fixed;
+
+        Cursor(Iterator<? extends Map.Entry<? extends K, ? extends Measurable<BigDecimal, E, T>>> entries) {
+            this.entries = entries;
+            this.next = entries.hasNext() ? entries.next() : null;
+            advance();
+        }
+
+        void advance() {
+            if (next == null) {
+                present = false;
+                key = null;
+                return;
+            }
+            key = next.getKey();
+            fixed = FixedPoint.toFixed(next.getValue());
+            next = entries.hasNext() ? entries.next() : null;
+            while (next != null) {
+                var cmp = keyOrder.compare(key, next.getKey());
+                if (cmp > 0) {
+                    throw new IllegalArgumentException(format("Input is not sorted by key, [%s] follows [%s]", next.getKey(), key));
+                }
+                if (cmp < 0) {
+                    break;
+                }
+                fixed = Math.addExact(fixed, FixedPoint.toFixed(next.getValue()));
+                next = entries.hasNext() ? entries.next() : null;
+            }
+            present = true;
+        }
+    }
+}
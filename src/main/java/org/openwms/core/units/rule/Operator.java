@@ -0,0 +1,117 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.rule;
+
+import java.util.Arrays;
+
+import static java.lang.String.format;
+
+/**
+ * An Operator compares a value with a threshold.
+ *
+ * @author Heiko Scherrer
+ */
+public enum Operator {
+
+    /** Less than. */
+    LT("<") {
+        @Override
+        public boolean test(long value, long threshold) {
+            return value < threshold;
+        }
+    },
+
+    /** Less than or equal. */
+    LE("<=") {
+        @Override
+        public boolean test(long value, long threshold) {
+            return value <= threshold;
+        }
+    },
+
+    /** Greater than. */
+    GT(">") {
+        @Override
+        public boolean test(long value, long threshold) {
+            return value > threshold;
+        }
+    },
+
+    /** Greater than or equal. */
+    GE(">=") {
+        @Override
+        public boolean test(long value, long threshold) {
+            return value >= threshold;
+        }
+    },
+
+    /** Equal. */
+    EQ("==") {
+        @Override
+        public boolean test(long value, long threshold) {
+            return value == threshold;
+        }
+    },
+
+    /** Not equal. */
+    NE("!=") {
+        @Override
+        public boolean test(long value, long threshold) {
+            return value != threshold;
+        }
+    };
+
+    private final String symbol;
+
+    Operator(String symbol) {
+        this.symbol = symbol;
+    }
+
+    /**
+     * Return the Operator for a {@code symbol}, {@literal =} is accepted for {@link #EQ}.
+     *
+     * @param symbol The symbol, e.g. {@literal <=}
+     * @return The Operator
+     * @throws IllegalArgumentException if the symbol is unknown
+     */
+    public static Operator of(String symbol) {
+        if ("=".equals(symbol)) {
+            return EQ;
+        }
+        return Arrays.stream(values())
+                .filter(o -> o.symbol.equals(symbol))
+                .findFirst()
+                .orElseThrow(() -> new IllegalArgumentException(format("Operator not supported [%s]", symbol)));
+    }
+
+    /**
+     * Return the symbol.
+     *
+     * @return The symbol, e.g. {@literal <=}
+     */
+    public String getSymbol() {
+        return symbol;
+    }
+
+    /**
+     * Compare two fixed-point values of the same dimension.
+     *
+     * @param value The value to test
+     * @param threshold The threshold
+     * @return The result of the comparison
+     */
+    public abstract boolean test(long value, long threshold);
+}
@@ -0,0 +1,214 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.rule;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+import org.openwms.core.units.converter.Units;
+
+import java.util.function.Predicate;
+import java.util.regex.Pattern;
+
+import static java.lang.String.format;
+
+/**
+ * A QuantityRule is a threshold rule like {@literal stock < 2 DOZ}, {@literal weight >= 0.5 T} or {@literal height > 180 CM}. A rule is
+ * compiled once: the threshold is parsed and converted into a {@link FixedPoint} value of the base unit, so evaluating the rule is a single
+ * {@code long} comparison regardless of the unit the value is expressed in. Instances are immutable and thread-safe.
+ * <p>
+ * The syntax is {@code [subject] operator amount unit}, where the optional subject is a name like {@literal stock} or
+ * {@literal bin.weight} and the operator is one of {@literal <, <=, >, >=, ==, =, !=}.
+ * </p>
+ *
+ * @author Heiko Scherrer
+ */
+public final class QuantityRule implements Predicate<Measurable<?, ?, ?>> {
+
+    private static final Pattern SYNTAX = Pattern.compile(
+            "\\s*([A-Za-z_][\\w.]*)?\\s*(<=|>=|==|!=|<|>|=)\\s*([+-]?\\d+(?:\\.\\d+)?)\\s*([A-Za-z][A-Za-z0-9]*)\\s*");
+
+    private final String subject;
+    private final Operator operator;
+    private final Measurable<?, ?, ?> threshold;
+    private final BaseUnit<?> dimension;
+    private final long thresholdFixed;
+
+    private QuantityRule(String subject, Operator operator, Measurable<?, ?, ?> threshold) {
+        this.subject = subject;
+        this.operator = operator;
+        this.threshold = threshold;
+        this.dimension = threshold.getUnitType().getBaseUnit();
+        try {
+            this.thresholdFixed = FixedPoint.toFixed(threshold);
+        } catch (ArithmeticException ae) {
+            throw new IllegalArgumentException(format("Threshold [%s] exceeds the fixed-point range or resolution", threshold), ae);
+        }
+    }
+
+    /**
+     * Compile a rule from its textual form.
+     *
+     * @param rule The rule, e.g. {@literal stock < 2 DOZ}
+     * @return The compiled rule
+     * @throws IllegalArgumentException if the rule cannot be parsed or the unit is not supported
+     */
+    public static QuantityRule compile(String rule) {
+        if (rule == null) {
+            throw new IllegalArgumentException("rule is null");
+        }
+        var matcher = SYNTAX.matcher(rule);
+        if (!matcher.matches()) {
+            throw new IllegalArgumentException(format("Invalid rule [%s]", rule));
+        }
+        return new QuantityRule(matcher.group(1), Operator.of(matcher.group(2)), Units.getMeasurable(matcher.group(3), matcher.group(4)));
+    }
+
+    /**
+     * Create a rule without subject.
+     *
+     * @param operator The Operator
+     * @param threshold The threshold
+     * @return The compiled rule
+     */
+    public static QuantityRule of(Operator operator, Measurable<?, ?, ?> threshold) {
+        if (operator == null || threshold == null) {
+            throw new IllegalArgumentException("operator and threshold must not be null");
+        }
+        return new QuantityRule(null, operator, threshold);
+    }
+
+    /**
+     * Return the subject the rule applies to.
+     *
+     * @return The subject, may be {@literal null}
+     */
+    public String getSubject() {
+        return subject;
+    }
+
+    /**
+     * Return the Operator.
+     *
+     * @return The Operator
+     */
+    public Operator getOperator() {
+        return operator;
+    }
+
+    /**
+     * Return the threshold as it was given.
+     *
+     * @return The threshold
+     */
+    public Measurable<?, ?, ?> getThreshold() {
+        return threshold;
+    }
+
+    /**
+     * Return the fixed-point value of the threshold.
+     *
+     * @return The threshold in fixed-point
+     */
+    public long getThresholdFixed() {
+        return thresholdFixed;
+    }
+
+    /**
+     * Check whether the rule can be evaluated against values of the {@code unit}.
+     *
+     * @param unit Any unit
+     * @return {@literal true} if the unit belongs to the dimension of the threshold
+     */
+    public boolean appliesTo(BaseUnit<?> unit) {
+        return unit != null && unit.getBaseUnit() == dimension;
+    }
+
+    /**
+     * Evaluate the rule against a value.
+     *
+     * @param value The value to test
+     * @return The result of the comparison
+     * @throws IllegalArgumentException if the value belongs to another dimension or is finer than the {@link FixedPoint} resolution, like
+     * {@literal 0.0000001 G}
+     */
+    @Override
+    public boolean test(Measurable<?, ?, ?> value) {
+        if (value == null || !appliesTo(value.getUnitType())) {
+            throw new IllegalArgumentException(format("Value [%s] does not match the dimension of rule [%s]", value, this));
+        }
+        try {
+            return operator.test(FixedPoint.toFixed(value), thresholdFixed);
+        } catch (ArithmeticException e) {
+            throw new IllegalArgumentException(format("Value [%s] is finer than the supported resolution", value), e);
+        }
+    }
+
+    /**
+     * Evaluate the rule against a fixed-point value of the same dimension.
+     *
+     * @param fixed The fixed-point value
+     * @return The result of the comparison
+     */
+    public boolean testFixed(long fixed) {
+        return operator.test(fixed, thresholdFixed);
+    }
+
+    /**
+     * Evaluate the rule against a column of fixed-point values without allocation.
+     *
+     * @param column The fixed-point values
+     * @param result Receives the result for each value, must be at least as long as the column
+     * @return The number of values that match
+     */
+    public int testAll(long[] column, boolean[] result) {
+        var matches = 0;
+        for (var i = 0; i < column.length; i++) {
+            var match = operator.test(column[i], thresholdFixed);
+            result[i] = match;
+            if (match) {
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Collect the positions of all values in a column that match the rule, without allocation.
+     *
+     * @param column The fixed-point values
+     * @param positions Receives the positions of matching values in ascending order, must be at least as long as the column
+     * @return The number of positions written
+     */
+    public int select(long[] column, int[] positions) {
+        var count = 0;
+        for (var i = 0; i < column.length; i++) {
+            if (operator.test(column[i], thresholdFixed)) {
+                positions[count++] = i;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        var text = operator.getSymbol() + " " + threshold;
+        return subject == null ? text : subject + " " + text;
+    }
+}
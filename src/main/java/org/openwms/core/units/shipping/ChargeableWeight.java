@@ -0,0 +1,207 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.shipping;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.Dimension;
+import org.openwms.core.units.api.Volume;
+import org.openwms.core.units.api.Weight;
+
+import java.math.BigInteger;
+
+import static java.lang.String.format;
+import static org.openwms.core.units.api.VolumeUnit.CM3;
+import static org.openwms.core.units.api.WeightUnit.KG;
+
+/**
+ * A ChargeableWeight calculates the weight a carrier charges for a parcel: the greater of the actual weight and the volumetric weight,
+ * which is the volume of the parcel divided by the dimensional factor of the carrier, e.g. {@literal 5000 CM3} per {@literal 1 KG}.
+ * Volumetric weights are rounded up to the next milligram and chargeable weights optionally to the next increment, like half a
+ * kilogram.
+ * <p>
+ * Calculations are done on {@link FixedPoint} values: volumes in cubic millimeters and weights in milligrams. The dimensional factor is
+ * reduced to a fraction of two {@code long}s once, so rating a parcel is a multiplication and a division. Instances are immutable and
+ * thread-safe.
+ * </p>
+ *
+ * @author Heiko Scherrer
+ */
+public final class ChargeableWeight {
+
+    private final Volume volume;
+    private final Weight weight;
+    private final long numerator;
+    private final long denominator;
+    private final long increment;
+
+    private ChargeableWeight(Volume volume, Weight weight, long numerator, long denominator, long increment) {
+        this.volume = volume;
+        this.weight = weight;
+        this.numerator = numerator;
+        this.denominator = denominator;
+        this.increment = increment;
+    }
+
+    /**
+     * Create a ChargeableWeight with a dimensional factor.
+     *
+     * @param volume The volume that is charged as {@code weight}, e.g. {@literal 5000 CM3}
+     * @param weight The weight charged for {@code volume}, e.g. {@literal 1 KG}, chargeable weights are expressed in its unit
+     * @return The new instance
+     */
+    public static ChargeableWeight of(Volume volume, Weight weight) {
+        if (volume == null || weight == null || volume.isNegative() || volume.isZero() || weight.isNegative() || weight.isZero()) {
+            throw new IllegalArgumentException(format("Volume and weight must be positive [%s, %s]", volume, weight));
+        }
+        var volumeFixed = FixedPoint.toFixed(volume);
+        var weightFixed = FixedPoint.toFixed(weight);
+        var gcd = BigInteger.valueOf(volumeFixed).gcd(BigInteger.valueOf(weightFixed)).longValueExact();
+        return new ChargeableWeight(volume, weight, weightFixed / gcd, volumeFixed / gcd, 0);
+    }
+
+    /**
+     * Create a ChargeableWeight with a divisor in cubic centimeters per kilogram, as most carriers publish it.
+     *
+     * @param divisor The divisor, e.g. {@literal 5000}
+     * @return The new instance
+     */
+    public static ChargeableWeight ofDivisor(int divisor) {
+        return of(Volume.of(divisor, CM3), Weight.of(1, KG));
+    }
+
+    /**
+     * Return a copy that rounds chargeable weights up to the next multiple of {@code increment}.
+     *
+     * @param increment The increment, e.g. {@literal 500 G}
+     * @return The new instance
+     */
+    public ChargeableWeight roundingUpTo(Weight increment) {
+        if (increment == null || increment.isNegative() || increment.isZero()) {
+            throw new IllegalArgumentException(format("increment must be positive [%s]", increment));
+        }
+        return new ChargeableWeight(volume, weight, numerator, denominator, FixedPoint.toFixed(increment));
+    }
+
+    /**
+     * Return the volumetric weight of a {@code volume}.
+     *
+     * @param volume The volume
+     * @return The volumetric weight
+     */
+    public Weight volumetricWeight(Volume volume) {
+        return toWeight(volumetricFixed(FixedPoint.toFixed(volume)));
+    }
+
+    /**
+     * Return the volumetric weight of a parcel.
+     *
+     * @param dimension The outer Dimension of the parcel
+     * @return The volumetric weight
+     */
+    public Weight volumetricWeight(Dimension dimension) {
+        return toWeight(volumetricFixed(volumeOf(dimension)));
+    }
+
+    /**
+     * Return the chargeable weight of a {@code volume} with its {@code actual} weight.
+     *
+     * @param volume The volume
+     * @param actual The actual weight
+     * @return The chargeable weight
+     */
+    public Weight chargeableWeight(Volume volume, Weight actual) {
+        return toWeight(chargeableFixed(FixedPoint.toFixed(volume), FixedPoint.toFixed(actual)));
+    }
+
+    /**
+     * Return the chargeable weight of a parcel.
+     *
+     * @param dimension The outer Dimension of the parcel
+     * @param actual The actual weight
+     * @return The chargeable weight
+     */
+    public Weight chargeableWeight(Dimension dimension, Weight actual) {
+        return toWeight(chargeableFixed(volumeOf(dimension), FixedPoint.toFixed(actual)));
+    }
+
+    /**
+     * Return the volumetric weight of a {@link FixedPoint} volume.
+     *
+     * @param volume The volume in cubic millimeters
+     * @return The volumetric weight in milligrams
+     * @throws ArithmeticException if the result exceeds the {@code long} range
+     */
+    public long volumetricFixed(long volume) {
+        return Math.ceilDiv(Math.multiplyExact(volume, numerator), denominator);
+    }
+
+    /**
+     * Return the chargeable weight of a {@link FixedPoint} volume and actual weight.
+     *
+     * @param volume The volume in cubic millimeters
+     * @param actual The actual weight in milligrams
+     * @return The chargeable weight in milligrams
+     */
+    public long chargeableFixed(long volume, long actual) {
+        var result = Math.max(volumetricFixed(volume), actual);
+        return increment == 0 ? result : Math.ceilDiv(result, increment) * increment;
+    }
+
+    /**
+     * Calculate the chargeable weights of many parcels without allocation.
+     *
+     * @param volumes The volumes in cubic millimeters
+     * @param actual The actual weights in milligrams
+     * @param result Receives the chargeable weights in milligrams, must be at least as long as {@code volumes}
+     */
+    public void chargeableFixed(long[] volumes, long[] actual, long[] result) {
+        for (var i = 0; i < volumes.length; i++) {
+            result[i] = chargeableFixed(volumes[i], actual[i]);
+        }
+    }
+
+    /**
+     * Calculate the {@link FixedPoint} volumes of many boxes without allocation.
+     *
+     * @param lengths The lengths in millimeters
+     * @param widths The widths in millimeters
+     * @param heights The heights in millimeters
+     * @param result Receives the volumes in cubic millimeters, must be at least as long as {@code lengths}
+     * @throws ArithmeticException if a volume exceeds the {@code long} range
+     */
+    public static void volumesFixed(long[] lengths, long[] widths, long[] heights, long[] result) {
+        for (var i = 0; i < lengths.length; i++) {
+            result[i] = Math.multiplyExact(Math.multiplyExact(lengths[i], widths[i]), heights[i]);
+        }
+    }
+
+    private static long volumeOf(Dimension dimension) {
+        var edges = dimension.toMillimeters();
+        return Math.multiplyExact(Math.multiplyExact(edges[0], edges[1]), edges[2]);
+    }
+
+    private Weight toWeight(long fixed) {
+        return FixedPoint.fromFixed(fixed, weight.getUnitType());
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "ChargeableWeight{%s per %s, increment=%s}".formatted(volume, weight, increment == 0 ? "none" : toWeight(increment));
+    }
+}
@@ -0,0 +1,290 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.sku;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.PieceUnit;
+import org.openwms.core.units.api.Volume;
+import org.openwms.core.units.api.VolumeUnit;
+import org.openwms.core.units.api.Weight;
+import org.openwms.core.units.api.WeightUnit;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * A SkuConversionTable holds the conversion factors of each SKU between {@link Piece}s, {@link Weight} and {@link Volume}, e.g. one piece
+ * of article A weighs {@literal 0.35 KG} and one case holds {@literal 24 PC}. Factors are kept as {@link FixedPoint} values in primitive
+ * arrays indexed by a slot per SKU, so a table of millions of SKUs costs a few dozen bytes per SKU besides the key lookup. Bulk
+ * conversions of order lines resolve the slots once and then work on primitive arrays only.
+ * <p>
+ * Conversions from pieces are exact for whole pieces, all conversions round down to the fixed-point resolution, i.e. milligrams, cubic
+ * millimeters and thousandths of a piece, towards zero. A SkuConversionTable is not thread-safe; it may be read concurrently once it is completely
+ * filled and safely published.
+ * </p>
+ *
+ * @param <K> The type of SKU id
+ * @author Heiko Scherrer
+ */
+public class SkuConversionTable<K> {
+
+    private static final long PIECE = FixedPoint.factorOf(PieceUnit.PC);
+
+    private final HashMap<K, Integer> slots;
+    /** Milligrams per piece, zero if unknown. */
+    private long[] weights;
+    /** Cubic millimeters per piece, zero if unknown. */
+    private long[] volumes;
+    /** Pieces per case, zero if unknown. */
+    private long[] caseQuantities;
+    private int size;
+
+    private SkuConversionTable(int initialCapacity) {
+        this.slots = new HashMap<>(Math.max(16, initialCapacity * 4 / 3 + 1));
+        this.weights = new long[initialCapacity];
+        this.volumes = new long[initialCapacity];
+        this.caseQuantities = new long[initialCapacity];
+    }
+
+    /**
+     * Create a new and empty SkuConversionTable.
+     *
+     * @param <K> The type of SKU id
+     * @return The new instance
+     */
+    public static <K> SkuConversionTable<K> create() {
+        return create(16);
+    }
+
+    /**
+     * Create a new and empty SkuConversionTable.
+     *
+     * @param initialCapacity The number of SKUs to expect
+     * @param <K> The type of SKU id
+     * @return The new instance
+     */
+    public static <K> SkuConversionTable<K> create(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("initialCapacity must not be negative");
+        }
+        return new SkuConversionTable<>(Math.max(1, initialCapacity));
+    }
+
+    /**
+     * Insert or replace the factors of a SKU.
+     *
+     * @param sku The SKU id
+     * @param weightPerPiece The Weight of one piece, may be {@literal null} if unknown
+     * @param volumePerPiece The Volume of one piece, may be {@literal null} if unknown
+     * @param caseQuantity The number of pieces in one case, may be {@literal null} if unknown
+     * @return The slot of the SKU
+     * @throws IllegalArgumentException if a factor is not positive or the case quantity is not a whole number of pieces
+     */
+    public int put(K sku, Weight weightPerPiece, Volume volumePerPiece, Piece caseQuantity) {
+        if (sku == null) {
+            throw new IllegalArgumentException("sku is null");
+        }
+        var weight = weightPerPiece == null ? 0 : positive(FixedPoint.toFixed(weightPerPiece), weightPerPiece);
+        var volume = volumePerPiece == null ? 0 : positive(FixedPoint.toFixed(volumePerPiece), volumePerPiece);
+        var pieces = caseQuantity == null ? 0 : positive(FixedPoint.toFixed(caseQuantity), caseQuantity);
+        if (pieces % PIECE != 0) {
+            throw new IllegalArgumentException(format("caseQuantity must be a whole number of pieces [%s]", caseQuantity));
+        }
+        var slot = slots.get(sku);
+        if (slot == null) {
+            slot = size;
+            if (size == weights.length) {
+                var capacity = size + (size >> 1) + 1;
+                weights = Arrays.copyOf(weights, capacity);
+                volumes = Arrays.copyOf(volumes, capacity);
+                caseQuantities = Arrays.copyOf(caseQuantities, capacity);
+            }
+            slots.put(sku, slot);
+            size++;
+        }
+        weights[slot] = weight;
+        volumes[slot] = volume;
+        caseQuantities[slot] = pieces / PIECE;
+        return slot;
+    }
+
+    private static long positive(long fixed, Object factor) {
+        if (fixed <= 0) {
+            throw new IllegalArgumentException(format("Factors must be positive [%s]", factor));
+        }
+        return fixed;
+    }
+
+    /**
+     * Return the number of SKUs.
+     *
+     * @return The number of SKUs
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Return the slot of a SKU to be used with the bulk conversions.
+     *
+     * @param sku The SKU id
+     * @return The slot
+     * @throws IllegalArgumentException if the SKU is unknown
+     */
+    public int slotOf(K sku) {
+        var slot = slots.get(sku);
+        if (slot == null) {
+            throw new IllegalArgumentException(format("Unknown SKU [%s]", sku));
+        }
+        return slot;
+    }
+
+    /**
+     * Resolve the slots of many SKUs, like the SKUs of all lines of an order.
+     *
+     * @param skus The SKU ids
+     * @param result Receives the slot of each SKU, must be at least as long as {@code skus}
+     */
+    public void slotsOf(List<K> skus, int[] result) {
+        for (var i = 0; i < skus.size(); i++) {
+            result[i] = slotOf(skus.get(i));
+        }
+    }
+
+    /**
+     * Convert a quantity of pieces of a SKU into their Weight.
+     *
+     * @param sku The SKU id
+     * @param quantity The quantity
+     * @param unit The unit of the result
+     * @return The Weight
+     */
+    public Weight toWeight(K sku, Piece quantity, WeightUnit unit) {
+        return FixedPoint.fromFixed(weightFixed(slotOf(sku), FixedPoint.toFixed(quantity)), unit);
+    }
+
+    /**
+     * Convert a Weight of a SKU into the quantity of pieces.
+     *
+     * @param sku The SKU id
+     * @param weight The Weight
+     * @return The quantity in {@link PieceUnit#PC}
+     */
+    public Piece toPieces(K sku, Weight weight) {
+        var fixed = Math.multiplyExact(FixedPoint.toFixed(weight), PIECE) / factor(weights, slotOf(sku), "weight");
+        return FixedPoint.fromFixed(fixed, PieceUnit.PC);
+    }
+
+    /**
+     * Convert a quantity of pieces of a SKU into their Volume.
+     *
+     * @param sku The SKU id
+     * @param quantity The quantity
+     * @param unit The unit of the result
+     * @return The Volume
+     */
+    public Volume toVolume(K sku, Piece quantity, VolumeUnit unit) {
+        return FixedPoint.fromFixed(volumeFixed(slotOf(sku), FixedPoint.toFixed(quantity)), unit);
+    }
+
+    /**
+     * Convert a number of cases of a SKU into pieces.
+     *
+     * @param sku The SKU id
+     * @param cases The number of cases
+     * @return The quantity in {@link PieceUnit#PC}
+     */
+    public Piece casesToPieces(K sku, long cases) {
+        var pieces = Math.multiplyExact(cases, factor(caseQuantities, slotOf(sku), "case quantity"));
+        return FixedPoint.fromFixed(Math.multiplyExact(pieces, PIECE), PieceUnit.PC);
+    }
+
+    /**
+     * Return the number of full cases a quantity of pieces of a SKU fills.
+     *
+     * @param sku The SKU id
+     * @param quantity The quantity
+     * @return The number of full cases
+     */
+    public long fullCases(K sku, Piece quantity) {
+        return FixedPoint.toFixed(quantity) / PIECE / factor(caseQuantities, slotOf(sku), "case quantity");
+    }
+
+    /**
+     * Convert the {@link FixedPoint} piece quantities of many lines into {@link FixedPoint} weights without allocation.
+     *
+     * @param slots The slot of the SKU of each line, as returned by {@link #slotsOf(List, int[])}
+     * @param pieces The quantity of each line in thousandths of a piece
+     * @param result Receives the weight of each line in milligrams
+     * @return The total weight of all lines in milligrams
+     */
+    public long toWeightsFixed(int[] slots, long[] pieces, long[] result) {
+        var total = 0L;
+        for (var i = 0; i < slots.length; i++) {
+            result[i] = weightFixed(slots[i], pieces[i]);
+            total = Math.addExact(total, result[i]);
+        }
+        return total;
+    }
+
+    /**
+     * Convert the {@link FixedPoint} piece quantities of many lines into {@link FixedPoint} volumes without allocation.
+     *
+     * @param slots The slot of the SKU of each line, as returned by {@link #slotsOf(List, int[])}
+     * @param pieces The quantity of each line in thousandths of a piece
+     * @param result Receives the volume of each line in cubic millimeters
+     * @return The total volume of all lines in cubic millimeters
+     */
+    public long toVolumesFixed(int[] slots, long[] pieces, long[] result) {
+        var total = 0L;
+        for (var i = 0; i < slots.length; i++) {
+            result[i] = volumeFixed(slots[i], pieces[i]);
+            total = Math.addExact(total, result[i]);
+        }
+        return total;
+    }
+
+    private long weightFixed(int slot, long pieces) {
+        return Math.multiplyExact(pieces, factor(weights, slot, "weight")) / PIECE;
+    }
+
+    private long volumeFixed(int slot, long pieces) {
+        return Math.multiplyExact(pieces, factor(volumes, slot, "volume")) / PIECE;
+    }
+
+    private long factor(long[] factors, int slot, String name) {
+        if (slot < 0 || slot >= size) {
+            throw new IllegalArgumentException(format("Unknown slot [%d]", slot));
+        }
+        var factor = factors[slot];
+        if (factor == 0) {
+            throw new IllegalArgumentException(format("No %s known for the SKU in slot [%d]", name, slot));
+        }
+        return factor;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "SkuConversionTable{size=%d}".formatted(size);
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.stats;
+
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+import org.openwms.core.units.api.MetricDimension;
+import org.openwms.core.units.api.MetricDimensionUnit;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.PieceUnit;
+import org.openwms.core.units.api.Weight;
+import org.openwms.core.units.api.WeightUnit;
+
+import java.math.BigDecimal;
+import java.util.stream.Collector;
+import java.util.stream.Collectors;
+
+/**
+ * A MeasurableCollectors offers {@link Collector}s to aggregate streams of {@link Measurable}s exactly. All collectors are unordered and can
+ * be used with parallel streams.
+ *
+ * @author Heiko Scherrer
+ */
+public final class MeasurableCollectors {
+
+    private MeasurableCollectors() {}
+
+    /**
+     * Collect count, sum, min, max and average of {@link Measurable}s.
+     *
+     * @param targetUnit The unit all results are expressed in
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The Collector
+     */
+    public static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>>
+            Collector<Measurable<BigDecimal, E, T>, ?, MeasurableSummaryStatistics<E, T>> summarizing(T targetUnit) {
+        return Collector.of(
+                () -> new MeasurableSummaryStatistics<>(targetUnit),
+                MeasurableSummaryStatistics::accept,
+                (l, r) -> {
+                    l.combine(r);
+                    return l;
+                },
+                Collector.Characteristics.IDENTITY_FINISH,
+                Collector.Characteristics.UNORDERED
+        );
+    }
+
+    /**
+     * Collect the exact sum of {@link Measurable}s.
+     *
+     * @param targetUnit The unit of the sum
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The Collector
+     */
+    public static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>>
+            Collector<Measurable<BigDecimal, E, T>, ?, E> summing(T targetUnit) {
+        return Collectors.collectingAndThen(summarizing(targetUnit), MeasurableSummaryStatistics::getSum);
+    }
+
+    /**
+     * Collect count, sum, min, max and average of {@link Piece}s.
+     *
+     * @param targetUnit The unit all results are expressed in
+     * @return The Collector
+     */
+    public static Collector<Measurable<BigDecimal, Piece, PieceUnit>, ?, MeasurableSummaryStatistics<Piece, PieceUnit>> summarizingPieces(PieceUnit targetUnit) {
+        return summarizing(targetUnit);
+    }
+
+    /**
+     * Collect count, sum, min, max and average of {@link Weight}s.
+     *
+     * @param targetUnit The unit all results are expressed in
+     * @return The Collector
+     */
+    public static Collector<Measurable<BigDecimal, Weight, WeightUnit>, ?, MeasurableSummaryStatistics<Weight, WeightUnit>> summarizingWeights(WeightUnit targetUnit) {
+        return summarizing(targetUnit);
+    }
+
+    /**
+     * Collect count, sum, min, max and average of {@link MetricDimension}s.
+     *
+     * @param targetUnit The unit all results are expressed in
+     * @return The Collector
+     */
+    public static Collector<Measurable<BigDecimal, MetricDimension, MetricDimensionUnit>, ?, MeasurableSummaryStatistics<MetricDimension, MetricDimensionUnit>> summarizingMetricDimensions(MetricDimensionUnit targetUnit) {
+        return summarizing(targetUnit);
+    }
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.stats;
+
+import org.openwms.core.units.MeasurableMath;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+/**
+ * A MeasurableSummaryStatistics collects count, sum, min, max and average of {@link Measurable}s of one dimension, similar to the
+ * {@link java.util.IntSummaryStatistics}. Values are summed up exactly per unit and are only converted into the {@code targetUnit} when a
+ * result is requested, so accepting and combining is cheap. Instances are not thread-safe but can be combined, hence they are suitable as
+ * container of a parallel {@link java.util.stream.Collector}.
+ *
+ * @param <E> The type of Measurable
+ * @param <T> The type of BaseUnit
+ * @author Heiko Scherrer
+ */
+public class MeasurableSummaryStatistics<E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>>
+        implements Consumer<Measurable<BigDecimal, E, T>> {
+
+    private final T targetUnit;
+    private final List<T> units;
+    private final BigDecimal[] sums;
+    private final BigDecimal[] mins;
+    private final BigDecimal[] maxs;
+    private long count;
+
+    /**
+     * Create a new and empty MeasurableSummaryStatistics.
+     *
+     * @param targetUnit The unit all results are expressed in
+     */
+    public MeasurableSummaryStatistics(T targetUnit) {
+        if (targetUnit == null) {
+            throw new IllegalArgumentException("targetUnit is null");
+        }
+        this.targetUnit = targetUnit;
+        this.units = targetUnit.getAll();
+        this.sums = new BigDecimal[units.size()];
+        this.mins = new BigDecimal[units.size()];
+        this.maxs = new BigDecimal[units.size()];
+    }
+
+    /**
+     * Record a new value, {@literal null} values are ignored.
+     *
+     * @param value The value to record
+     */
+    @Override
+    public void accept(Measurable<BigDecimal, E, T> value) {
+        if (value == null) {
+            return;
+        }
+        var i = units.indexOf(value.getUnitType());
+        var magnitude = value.getMagnitude();
+        if (sums[i] == null) {
+            sums[i] = magnitude;
+            mins[i] = magnitude;
+            maxs[i] = magnitude;
+        } else {
+            sums[i] = sums[i].add(magnitude);
+            if (magnitude.compareTo(mins[i]) < 0) {
+                mins[i] = magnitude;
+            }
+            if (magnitude.compareTo(maxs[i]) > 0) {
+                maxs[i] = magnitude;
+            }
+        }
+        count++;
+    }
+
+    /**
+     * Combine the state of another MeasurableSummaryStatistics into this one.
+     *
+     * @param other Another MeasurableSummaryStatistics
+     */
+    public void combine(MeasurableSummaryStatistics<E, T> other) {
+        for (var i = 0; i < sums.length; i++) {
+            if (other.sums[i] == null) {
+                continue;
+            }
+            if (sums[i] == null) {
+                sums[i] = other.sums[i];
+                mins[i] = other.mins[i];
+                maxs[i] = other.maxs[i];
+            } else {
+                sums[i] = sums[i].add(other.sums[i]);
+                mins[i] = mins[i].min(other.mins[i]);
+                maxs[i] = maxs[i].max(other.maxs[i]);
+            }
+        }
+        count += other.count;
+    }
+
+    /**
+     * Return the unit all results are expressed in.
+     *
+     * @return The target unit
+     */
+    public T getTargetUnit() {
+        return targetUnit;
+    }
+
+    /**
+     * Return the number of recorded values.
+     *
+     * @return The count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Return the exact sum of all recorded values, or zero if no values have been recorded.
+     *
+     * @return The sum in the target unit
+     */
+    public E getSum() {
+        return MeasurableMath.fromBase(baseSum(), targetUnit);
+    }
+
+    /**
+     * Return the minimum of all recorded values.
+     *
+     * @return The minimum in the target unit, or empty if no values have been recorded
+     */
+    public Optional<E> getMin() {
+        BigDecimal result = null;
+        for (var i = 0; i < mins.length; i++) {
+            if (mins[i] != null) {
+                var candidate = MeasurableMath.toBase(mins[i], units.get(i));
+                result = result == null ? candidate : result.min(candidate);
+            }
+        }
+        return Optional.ofNullable(result).map(r -> MeasurableMath.fromBase(r, targetUnit));
+    }
+
+    /**
+     * Return the maximum of all recorded values.
+     *
+     * @return The maximum in the target unit, or empty if no values have been recorded
+     */
+    public Optional<E> getMax() {
+        BigDecimal result = null;
+        for (var i = 0; i < maxs.length; i++) {
+            if (maxs[i] != null) {
+                var candidate = MeasurableMath.toBase(maxs[i], units.get(i));
+                result = result == null ? candidate : result.max(candidate);
+            }
+        }
+        return Optional.ofNullable(result).map(r -> MeasurableMath.fromBase(r, targetUnit));
+    }
+
+    /**
+     * Return the arithmetic mean of all recorded values, rounded to {@link MathContext#DECIMAL128}.
+     *
+     * @return The average in the target unit, or empty if no values have been recorded
+     */
+    public Optional<E> getAverage() {
+        if (count == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(MeasurableMath.fromBase(baseSum().divide(BigDecimal.valueOf(count), MathContext.DECIMAL128), targetUnit));
+    }
+
+    private BigDecimal baseSum() {
+        var result = BigDecimal.ZERO;
+        for (var i = 0; i < sums.length; i++) {
+            if (sums[i] != null) {
+                result = result.add(MeasurableMath.toBase(sums[i], units.get(i)));
+            }
+        }
+        return result;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "%s{count=%d, sum=%s, min=%s, average=%s, max=%s}".formatted(getClass().getSimpleName(), count, getSum(),
+                getMin().orElse(null), getAverage().orElse(null), getMax().orElse(null));
+    }
+}
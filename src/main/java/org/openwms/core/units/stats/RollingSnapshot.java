@@ -0,0 +1,177 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.stats;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.MeasurableMath;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Optional;
+
+import static java.lang.String.format;
+
+/**
+ * A RollingSnapshot is an immutable view on the statistics of a {@link RollingStatistics} over a period of time.
+ *
+ * @param <E> The type of Measurable
+ * @param <T> The type of BaseUnit
+ * @author Heiko Scherrer
+ */
+public final class RollingSnapshot<E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> {
+
+    private final T unit;
+    private final long count;
+    private final long sum;
+    private final long min;
+    private final long max;
+    private final long[] histogram;
+    private final long lowest;
+    private final long highest;
+
+    RollingSnapshot(T unit, long count, long sum, long min, long max, long[] histogram, long lowest, long highest) {
+        this.unit = unit;
+        this.count = count;
+        this.sum = sum;
+        this.min = min;
+        this.max = max;
+        this.histogram = histogram;
+        this.lowest = lowest;
+        this.highest = highest;
+    }
+
+    /**
+     * Return the number of recorded values.
+     *
+     * @return The count
+     */
+    public long getCount() {
+        return count;
+    }
+
+    /**
+     * Return the sum of all recorded values.
+     *
+     * @return The sum
+     */
+    public E getSum() {
+        return FixedPoint.fromFixed(sum, unit);
+    }
+
+    /**
+     * Return the smallest recorded value.
+     *
+     * @return The minimum, or empty if nothing has been recorded
+     */
+    public Optional<E> getMin() {
+        return count == 0 ? Optional.empty() : Optional.of(FixedPoint.fromFixed(min, unit));
+    }
+
+    /**
+     * Return the largest recorded value.
+     *
+     * @return The maximum, or empty if nothing has been recorded
+     */
+    public Optional<E> getMax() {
+        return count == 0 ? Optional.empty() : Optional.of(FixedPoint.fromFixed(max, unit));
+    }
+
+    /**
+     * Return the arithmetic mean of all recorded values, rounded to {@link MathContext#DECIMAL128}.
+     *
+     * @return The average, or empty if nothing has been recorded
+     */
+    public Optional<E> getAverage() {
+        if (count == 0) {
+            return Optional.empty();
+        }
+        var average = BigDecimal.valueOf(sum).divide(BigDecimal.valueOf(count), MathContext.DECIMAL128).movePointLeft(FixedPoint.SCALE);
+        return Optional.of(MeasurableMath.fromBase(average, unit));
+    }
+
+    /**
+     * Return the approximated quantile. The result is the midpoint of the histogram bin the quantile falls into, limited to the recorded
+     * minimum and maximum.
+     *
+     * @param quantile The quantile between 0 and 1, e.g. 0.95
+     * @return The quantile, or empty if nothing has been recorded
+     */
+    public Optional<E> getQuantile(double quantile) {
+        if (quantile < 0 || quantile > 1) {
+            throw new IllegalArgumentException(format("Quantile must be between 0 and 1 [%s]", quantile));
+        }
+        if (count == 0) {
+            return Optional.empty();
+        }
+        var rank = Math.max(1, (long) Math.ceil(quantile * count));
+        long seen = 0;
+        var bin = 0;
+        for (; bin < histogram.length; bin++) {
+            seen += histogram[bin];
+            if (seen >= rank) {
+                break;
+            }
+        }
+        long value;
+        if (bin == 0) {
+            value = min;
+        } else if (bin == histogram.length - 1) {
+            value = max;
+        } else {
+            var innerBins = histogram.length - 2L;
+            value = Math.clamp(lowest + (2L * bin - 1) * (highest - lowest) / (2 * innerBins), min, max);
+        }
+        return Optional.of(FixedPoint.fromFixed(value, unit));
+    }
+
+    /**
+     * Return the median.
+     *
+     * @return The approximated median, or empty if nothing has been recorded
+     */
+    public Optional<E> getP50() {
+        return getQuantile(0.5);
+    }
+
+    /**
+     * Return the 95th percentile.
+     *
+     * @return The approximated 95th percentile, or empty if nothing has been recorded
+     */
+    public Optional<E> getP95() {
+        return getQuantile(0.95);
+    }
+
+    /**
+     * Return the 99th percentile.
+     *
+     * @return The approximated 99th percentile, or empty if nothing has been recorded
+     */
+    public Optional<E> getP99() {
+        return getQuantile(0.99);
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "RollingSnapshot{count=%d, sum=%s, min=%s, max=%s, p50=%s, p95=%s, p99=%s}".formatted(count, getSum(),
+                getMin().orElse(null), getMax().orElse(null), getP50().orElse(null), getP95().orElse(null), getP99().orElse(null));
+    }
+}
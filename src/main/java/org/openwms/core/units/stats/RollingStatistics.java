@@ -0,0 +1,216 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.stats;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.Arrays;
+
+import static java.lang.String.format;
+
+/**
+ * A RollingStatistics records {@link Measurable}s, like scale readings, into a ring buffer of time buckets and answers count, sum, min, max
+ * and quantiles over the most recent buckets, e.g. the last second or the last minute. Memory is allocated once at construction: each
+ * bucket consists of primitive {@link FixedPoint} aggregates and a linear histogram over a configured value range with an additional bin
+ * for values below and above that range. A value equal to the upper bound belongs to the last bin of the range. Quantiles are therefore
+ * approximated to the width of one histogram bin.
+ * <p>
+ * Recording is synchronized, so one instance can be shared by the threads of a line. {@link #acceptFixed(long)} does not allocate, whereas
+ * {@link #accept(Measurable)} allocates while converting a decimal magnitude to fixed-point.
+ * </p>
+ *
+ * @param <E> The type of Measurable
+ * @param <T> The type of BaseUnit
+ * @author Heiko Scherrer
+ */
+public class RollingStatistics<E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> {
+
+    private final T unit;
+    private final Clock clock;
+    private final long bucketMillis;
+    private final int bucketCount;
+    private final long lowest;
+    private final long highest;
+    private final int bins;
+    private final long[] slots;
+    private final long[] counts;
+    private final long[] sums;
+    private final long[] mins;
+    private final long[] maxs;
+    private final int[] histogram;
+
+    private RollingStatistics(T unit, Duration bucketDuration, int bucketCount, long lowest, long highest, int bins, Clock clock) {
+        this.unit = unit;
+        this.clock = clock;
+        this.bucketMillis = bucketDuration.toMillis();
+        this.bucketCount = bucketCount;
+        this.lowest = lowest;
+        this.highest = highest;
+        this.bins = bins + 2;
+        this.slots = new long[bucketCount];
+        Arrays.fill(slots, Long.MIN_VALUE);
+        this.counts = new long[bucketCount];
+        this.sums = new long[bucketCount];
+        this.mins = new long[bucketCount];
+        this.maxs = new long[bucketCount];
+        this.histogram = new int[bucketCount * this.bins];
+    }
+
+    /**
+     * Create a new RollingStatistics that uses the system clock.
+     *
+     * @param unit The unit results are expressed in
+     * @param bucketDuration The time span of one bucket, e.g. 1 second
+     * @param bucketCount The number of buckets, e.g. 60 to cover one minute with one second buckets
+     * @param lowest The lower bound of the histogram range
+     * @param highest The upper bound of the histogram range
+     * @param bins The number of histogram bins within the range
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     */
+    public static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> RollingStatistics<E, T> of(T unit,
+            Duration bucketDuration, int bucketCount, Measurable<BigDecimal, E, T> lowest, Measurable<BigDecimal, E, T> highest, int bins) {
+        return of(unit, bucketDuration, bucketCount, lowest, highest, bins, Clock.systemUTC());
+    }
+
+    /**
+     * Create a new RollingStatistics.
+     *
+     * @param unit The unit results are expressed in
+     * @param bucketDuration The time span of one bucket, e.g. 1 second
+     * @param bucketCount The number of buckets, e.g. 60 to cover one minute with one second buckets
+     * @param lowest The lower bound of the histogram range
+     * @param highest The upper bound of the histogram range
+     * @param bins The number of histogram bins within the range
+     * @param clock The clock to assign readings to buckets
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     */
+    public static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> RollingStatistics<E, T> of(T unit,
+            Duration bucketDuration, int bucketCount, Measurable<BigDecimal, E, T> lowest, Measurable<BigDecimal, E, T> highest, int bins,
+            Clock clock) {
+        FixedPoint.factorOf(unit); // fail fast on unsupported units
+        if (bucketDuration.toMillis() <= 0 || bucketCount <= 0 || bins <= 0) {
+            throw new IllegalArgumentException(format("Invalid window of [%d] buckets of [%s] with [%d] bins", bucketCount,
+                    bucketDuration, bins));
+        }
+        var low = FixedPoint.toFixed(lowest);
+        var high = FixedPoint.toFixed(highest);
+        if (high <= low) {
+            throw new IllegalArgumentException(format("Histogram range [%s] to [%s] is empty", lowest, highest));
+        }
+        try {
+            Math.multiplyExact(Math.subtractExact(high, low), 2L * bins);
+        } catch (ArithmeticException ae) {
+            throw new IllegalArgumentException(format("Histogram range [%s] to [%s] is too large for [%d] bins", lowest, highest, bins),
+                    ae);
+        }
+        return new RollingStatistics<>(unit, bucketDuration, bucketCount, low, high, bins, clock);
+    }
+
+    /**
+     * Record a value, {@literal null} is ignored.
+     *
+     * @param value The value to record
+     * @throws ArithmeticException if the value is finer than the fixed-point resolution
+     */
+    public void accept(Measurable<BigDecimal, E, T> value) {
+        if (value != null) {
+            acceptFixed(FixedPoint.toFixed(value));
+        }
+    }
+
+    /**
+     * Record a value that has already been converted with {@link FixedPoint}.
+     *
+     * @param fixed The fixed-point value to record
+     */
+    public synchronized void acceptFixed(long fixed) {
+        var slot = clock.millis() / bucketMillis;
+        var i = Math.floorMod(slot, bucketCount);
+        if (slots[i] != slot) {
+            slots[i] = slot;
+            counts[i] = 0;
+            sums[i] = 0;
+            mins[i] = Long.MAX_VALUE;
+            maxs[i] = Long.MIN_VALUE;
+            Arrays.fill(histogram, i * bins, (i + 1) * bins, 0);
+        }
+        counts[i]++;
+        sums[i] += fixed;
+        mins[i] = Math.min(mins[i], fixed);
+        maxs[i] = Math.max(maxs[i], fixed);
+        histogram[i * bins + bin(fixed)]++;
+    }
+
+    private int bin(long fixed) {
+        if (fixed < lowest) {
+            return 0;
+        }
+        if (fixed > highest) {
+            return bins - 1;
+        }
+        var innerBins = bins - 2L;
+        return (int) Math.min((fixed - lowest) * innerBins / (highest - lowest), innerBins - 1) + 1;
+    }
+
+    /**
+     * Return the statistics over the complete window.
+     *
+     * @return A snapshot
+     */
+    public RollingSnapshot<E, T> snapshot() {
+        return snapshot(bucketCount);
+    }
+
+    /**
+     * Return the statistics over the most recent {@code period}, rounded up to whole buckets, including the current bucket.
+     *
+     * @param period The period to cover, at most the complete window
+     * @return A snapshot
+     */
+    public RollingSnapshot<E, T> snapshot(Duration period) {
+        return snapshot((int) Math.min(bucketCount, Math.max(1, Math.ceilDiv(period.toMillis(), bucketMillis))));
+    }
+
+    private synchronized RollingSnapshot<E, T> snapshot(int buckets) {
+        var current = clock.millis() / bucketMillis;
+        long count = 0;
+        long sum = 0;
+        var min = Long.MAX_VALUE;
+        var max = Long.MIN_VALUE;
+        var merged = new long[bins];
+        for (var i = 0; i < bucketCount; i++) {
+            if (slots[i] > current - buckets && slots[i] <= current) {
+                count += counts[i];
+                sum += sums[i];
+                min = Math.min(min, mins[i]);
+                max = Math.max(max, maxs[i]);
+                for (var b = 0; b < bins; b++) {
+                    merged[b] += histogram[i * bins + b];
+                }
+            }
+        }
+        return new RollingSnapshot<>(unit, count, sum, min, max, merged, lowest, highest);
+    }
+}
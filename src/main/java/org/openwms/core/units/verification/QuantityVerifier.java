@@ -0,0 +1,199 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.verification;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.lang.String.format;
+
+/**
+ * A QuantityVerifier checks measured quantities, like carton weights at pack-out or edge lengths from a dimensioning scanner, against an
+ * expected quantity and a {@link Tolerance}. The accepted interval is calculated once as {@link FixedPoint} values, so checking a reading
+ * is a conversion and two comparisons. Instances are immutable and thread-safe.
+ *
+ * @param <E> The type of Measurable
+ * @param <T> The type of BaseUnit
+ * @author Heiko Scherrer
+ */
+public final class QuantityVerifier<E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> {
+
+    private final E expected;
+    private final long expectedFixed;
+    private final long lower;
+    private final long upper;
+
+    private QuantityVerifier(E expected, long expectedFixed, long lower, long upper) {
+        this.expected = expected;
+        this.expectedFixed = expectedFixed;
+        this.lower = lower;
+        this.upper = upper;
+    }
+
+    /**
+     * Create a QuantityVerifier with a symmetric tolerance.
+     *
+     * @param expected The expected quantity, results are expressed in its unit
+     * @param tolerance The accepted deviation in both directions
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     */
+    public static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> QuantityVerifier<E, T> of(E expected, Tolerance tolerance) {
+        return of(expected, tolerance, tolerance);
+    }
+
+    /**
+     * Create a QuantityVerifier with different tolerances below and above the expected quantity.
+     *
+     * @param expected The expected quantity, results are expressed in its unit
+     * @param under The accepted deviation below the expected quantity
+     * @param over The accepted deviation above the expected quantity
+     * @param <E> The type of Measurable
+     * @param <T> The type of BaseUnit
+     * @return The new instance
+     */
+    public static <E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> QuantityVerifier<E, T> of(E expected, Tolerance under,
+            Tolerance over) {
+        if (expected == null || under == null || over == null) {
+            throw new IllegalArgumentException("expected and tolerances must not be null");
+        }
+        requireSameDimension(expected, under);
+        requireSameDimension(expected, over);
+        var fixed = FixedPoint.toFixed(expected);
+        return new QuantityVerifier<>(expected, fixed, Math.subtractExact(fixed, under.toFixed(fixed)), Math.addExact(fixed, over.toFixed(fixed)));
+    }
+
+    private static void requireSameDimension(Measurable<?, ?, ?> expected, Tolerance tolerance) {
+        var absolute = tolerance.getAbsolute();
+        if (absolute != null && absolute.getUnitType().getBaseUnit() != expected.getUnitType().getBaseUnit()) {
+            throw new IllegalArgumentException(format("Tolerance [%s] does not match the dimension of [%s]", tolerance, expected));
+        }
+    }
+
+    /**
+     * Return the expected quantity.
+     *
+     * @return The expected quantity
+     */
+    public E getExpected() {
+        return expected;
+    }
+
+    /**
+     * Return the smallest accepted quantity.
+     *
+     * @return The lower limit in the unit of the expected quantity
+     */
+    public E getLowerLimit() {
+        return FixedPoint.fromFixed(lower, expected.getUnitType());
+    }
+
+    /**
+     * Return the largest accepted quantity.
+     *
+     * @return The upper limit in the unit of the expected quantity
+     */
+    public E getUpperLimit() {
+        return FixedPoint.fromFixed(upper, expected.getUnitType());
+    }
+
+    /**
+     * Check a {@link FixedPoint} reading without allocation.
+     *
+     * @param fixed The fixed-point reading
+     * @return Where the reading lies relative to the accepted interval
+     */
+    public Direction check(long fixed) {
+        if (fixed < lower) {
+            return Direction.UNDER;
+        }
+        return fixed > upper ? Direction.OVER : Direction.WITHIN;
+    }
+
+    /**
+     * Check whether a reading is accepted.
+     *
+     * @param measured The reading
+     * @return {@literal true} if within the accepted interval
+     */
+    public boolean accepts(Measurable<BigDecimal, E, T> measured) {
+        return check(FixedPoint.toFixed(measured)) == Direction.WITHIN;
+    }
+
+    /**
+     * Verify a reading.
+     *
+     * @param measured The reading
+     * @return The result including the deviation from the expected quantity
+     */
+    public Verification<E, T> verify(Measurable<BigDecimal, E, T> measured) {
+        var fixed = FixedPoint.toFixed(measured);
+        return new Verification<>(measured, FixedPoint.fromFixed(fixed - expectedFixed, expected.getUnitType()), check(fixed));
+    }
+
+    /**
+     * Verify a list of readings.
+     *
+     * @param measured The readings
+     * @return One result per reading in the same order
+     */
+    public List<Verification<E, T>> verifyAll(List<? extends Measurable<BigDecimal, E, T>> measured) {
+        var result = new ArrayList<Verification<E, T>>(measured.size());
+        for (var m : measured) {
+            result.add(verify(m));
+        }
+        return result;
+    }
+
+    /**
+     * Verify an array of {@link FixedPoint} readings without allocation.
+     *
+     * @param readings The fixed-point readings
+     * @param deviations Receives the fixed-point deviation of each reading from the expected quantity, may be {@literal null}
+     * @param directions Receives the direction of each reading, may be {@literal null}
+     * @return The number of readings outside the accepted interval
+     */
+    public int verifyAll(long[] readings, long[] deviations, Direction[] directions) {
+        var rejected = 0;
+        for (var i = 0; i < readings.length; i++) {
+            var direction = check(readings[i]);
+            if (direction != Direction.WITHIN) {
+                rejected++;
+            }
+            if (deviations != null) {
+                deviations[i] = readings[i] - expectedFixed;
+            }
+            if (directions != null) {
+                directions[i] = direction;
+            }
+        }
+        return rejected;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "QuantityVerifier{expected=%s, lower=%s, upper=%s}".formatted(expected, getLowerLimit(), getUpperLimit());
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.verification;
+
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.Measurable;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static java.lang.String.format;
+
+/**
+ * A Tolerance is the accepted deviation from an expected quantity, either as absolute quantity, as percentage of the expected quantity or
+ * as the larger of both.
+ *
+ * @author Heiko Scherrer
+ */
+public final class Tolerance {
+
+    /** No deviation is accepted. */
+    public static final Tolerance NONE = new Tolerance(null, BigDecimal.ZERO);
+    private static final BigDecimal HUNDRED = BigDecimal.valueOf(100);
+
+    private final Measurable<?, ?, ?> absolute;
+    private final BigDecimal percent;
+
+    private Tolerance(Measurable<?, ?, ?> absolute, BigDecimal percent) {
+        this.absolute = absolute;
+        this.percent = percent;
+    }
+
+    /**
+     * Create a Tolerance of an absolute quantity.
+     *
+     * @param absolute The accepted deviation, e.g. {@literal 5 G}
+     * @return The new instance
+     */
+    public static Tolerance absolute(Measurable<?, ?, ?> absolute) {
+        return of(absolute, BigDecimal.ZERO);
+    }
+
+    /**
+     * Create a Tolerance as percentage of the expected quantity.
+     *
+     * @param percent The accepted deviation in percent, e.g. {@literal 2.5}
+     * @return The new instance
+     */
+    public static Tolerance percent(BigDecimal percent) {
+        return of(null, percent);
+    }
+
+    /**
+     * Create a Tolerance that accepts the larger deviation of the absolute quantity and the percentage of the expected quantity.
+     *
+     * @param absolute The accepted absolute deviation, may be {@literal null}
+     * @param percent The accepted deviation in percent
+     * @return The new instance
+     */
+    public static Tolerance of(Measurable<?, ?, ?> absolute, BigDecimal percent) {
+        if (percent == null || percent.signum() < 0) {
+            throw new IllegalArgumentException(format("percent must not be negative [%s]", percent));
+        }
+        if (absolute != null && absolute.isNegative()) {
+            throw new IllegalArgumentException(format("absolute must not be negative [%s]", absolute));
+        }
+        return new Tolerance(absolute, percent);
+    }
+
+    /**
+     * Return the accepted deviation from the {@code expected} {@link FixedPoint} value.
+     *
+     * @param expected The expected fixed-point value
+     * @return The accepted fixed-point deviation, percentages are rounded down
+     */
+    public long toFixed(long expected) {
+        var fromPercent = BigDecimal.valueOf(Math.abs(expected)).multiply(percent).divide(HUNDRED, 0, RoundingMode.DOWN).longValueExact();
+        return absolute == null ? fromPercent : Math.max(FixedPoint.toFixed(absolute), fromPercent);
+    }
+
+    /**
+     * Return the accepted absolute deviation.
+     *
+     * @return The absolute quantity, or {@literal null} if only a percentage is accepted
+     */
+    public Measurable<?, ?, ?> getAbsolute() {
+        return absolute;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return absolute == null ? percent + " %" : "max(%s, %s %%)".formatted(absolute, percent);
+    }
+}
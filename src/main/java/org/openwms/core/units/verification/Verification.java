@@ -0,0 +1,85 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.verification;
+
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+
+import java.math.BigDecimal;
+
+/**
+ * A Verification is the result of verifying one measured quantity.
+ *
+ * @param <E> The type of Measurable
+ * @param <T> The type of BaseUnit
+ * @author Heiko Scherrer
+ */
+public final class Verification<E extends Measurable<BigDecimal, E, T>, T extends BaseUnit<T>> {
+
+    private final Measurable<BigDecimal, E, T> measured;
+    private final E deviation;
+    private final Direction direction;
+
+    Verification(Measurable<BigDecimal, E, T> measured, E deviation, Direction direction) {
+        this.measured = measured;
+        this.deviation = deviation;
+        this.direction = direction;
+    }
+
+    /**
+     * Return the measured quantity.
+     *
+     * @return The measured quantity
+     */
+    public Measurable<BigDecimal, E, T> getMeasured() {
+        return measured;
+    }
+
+    /**
+     * Return the measured minus the expected quantity.
+     *
+     * @return The deviation, negative if less than expected
+     */
+    public E getDeviation() {
+        return deviation;
+    }
+
+    /**
+     * Return where the measured quantity lies relative to the accepted interval.
+     *
+     * @return The direction
+     */
+    public Direction getDirection() {
+        return direction;
+    }
+
+    /**
+     * Check whether the measured quantity is accepted.
+     *
+     * @return {@literal true} if within the accepted interval
+     */
+    public boolean isAccepted() {
+        return direction == Direction.WITHIN;
+    }
+
+    /**
+     * {@inheritDoc}
+     */
+    @Override
+    public String toString() {
+        return "Verification{measured=%s, deviation=%s, direction=%s}".formatted(measured, deviation, direction);
+    }
+}
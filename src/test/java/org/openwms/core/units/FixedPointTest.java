@@ -0,0 +1,64 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.MetricDimension;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.Weight;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openwms.core.units.api.MetricDimensionUnit.CM;
+import static org.openwms.core.units.api.MetricDimensionUnit.MM;
+import static org.openwms.core.units.api.PieceUnit.DOZ;
+import static org.openwms.core.units.api.PieceUnit.PC;
+import static org.openwms.core.units.api.WeightUnit.KG;
+import static org.openwms.core.units.api.WeightUnit.MG;
+import static org.openwms.core.units.api.WeightUnit.T;
+
+class FixedPointTest {
+
+    @Test
+    void toFixed() {
+        assertThat(FixedPoint.toFixed(Weight.of(new BigDecimal("1.5"), KG))).isEqualTo(1_500_000L);
+        assertThat(FixedPoint.toFixed(Weight.of(1, T))).isEqualTo(1_000_000_000L);
+        assertThat(FixedPoint.toFixed(Piece.of(2, DOZ))).isEqualTo(24_000L);
+        assertThat(FixedPoint.toFixed(MetricDimension.of(new BigDecimal("12.5"), CM))).isEqualTo(125L);
+    }
+
+    @Test
+    void toFixedBelowResolution() {
+        var weight = Weight.of(new BigDecimal("1.5"), MG);
+        assertThatThrownBy(() -> FixedPoint.toFixed(weight)).isInstanceOf(ArithmeticException.class);
+        assertThat(FixedPoint.toFixed(weight, RoundingMode.HALF_UP)).isEqualTo(2L);
+    }
+
+    @Test
+    void fromFixed() {
+        Weight weight = FixedPoint.fromFixed(1_500_000L, KG);
+        assertThat(weight.getMagnitude()).isEqualTo(new BigDecimal("1.5"));
+        Piece dozen = FixedPoint.fromFixed(18_000L, DOZ);
+        assertThat(dozen.getMagnitude()).isEqualTo(new BigDecimal("1.5"));
+        Piece pieces = FixedPoint.fromFixed(18_000L, PC);
+        assertThat(pieces.getMagnitude()).isEqualTo(new BigDecimal("18"));
+        MetricDimension dimension = FixedPoint.fromFixed(-7L, MM);
+        assertThat(dimension.getMagnitude()).isEqualTo(new BigDecimal("-7"));
+    }
+}
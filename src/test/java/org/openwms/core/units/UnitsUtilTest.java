@@ -11,6 +11,7 @@ import org.openwms.core.units.api.Weight;
 import org.openwms.core.units.api.WeightUnit;
 
 import java.math.BigDecimal;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -42,4 +43,12 @@ class UnitsUtilTest {
         final Measurable<?, ?, ?> measurable = UnitsUtil.fromString("M@org.openwms.core.units.api.MetricDimension", BigDecimal.valueOf(2));
         assertThat(measurable).isEqualTo(MetricDimension.of(BigDecimal.valueOf(2), MetricDimensionUnit.M));
     }
-}
\ No newline at end of file
+
+    @Test
+    void sumPiecesExactlyInPC() {
+        final BigDecimal sum = UnitsUtil.sumPieces(Stream.of(
+                Piece.of(new BigDecimal("16777217")), Piece.of(1), Piece.of(2, PieceUnit.DOZ)
+        ));
+        assertThat(sum).isEqualByComparingTo(new BigDecimal("16777242"));
+    }
+}
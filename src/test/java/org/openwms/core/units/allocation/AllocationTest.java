@@ -0,0 +1,78 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.allocation;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.Weight;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openwms.core.units.api.PieceUnit.DOZ;
+import static org.openwms.core.units.api.PieceUnit.PC;
+import static org.openwms.core.units.api.WeightUnit.G;
+import static org.openwms.core.units.api.WeightUnit.KG;
+
+/**
+ * An AllocationTest.
+ *
+ * @author Heiko Scherrer
+ */
+class AllocationTest {
+
+    @Test
+    void splitEvenly() {
+        assertThat(Allocation.split(Piece.of(100), 3, PC)).containsExactly(Piece.of(34), Piece.of(33), Piece.of(33));
+        assertThat(Allocation.split(Piece.of(2, DOZ), 5, PC)).containsExactly(Piece.of(5), Piece.of(5), Piece.of(5), Piece.of(5),
+                Piece.of(4));
+        assertThat(Allocation.split(Weight.of(10, KG), 3, G)).containsExactly(Weight.of(3334, G), Weight.of(3333, G), Weight.of(3333, G));
+    }
+
+    @Test
+    void allocateByLargestRemainder() {
+        assertThat(Allocation.allocate(Piece.of(10), PC, 1, 1, 1)).containsExactly(Piece.of(4), Piece.of(3), Piece.of(3));
+        assertThat(Allocation.allocate(Piece.of(10), PC, 5, 3, 2)).containsExactly(Piece.of(5), Piece.of(3), Piece.of(2));
+        assertThat(Allocation.allocate(Piece.of(7), PC, 0, 2, 3)).containsExactly(Piece.of(0), Piece.of(3), Piece.of(4));
+        assertThat(Allocation.allocate(Weight.of(new BigDecimal("1.5"), KG), G, List.of(Weight.of(1, KG), Weight.of(2, KG))))
+                .containsExactly(Weight.of(500, G), Weight.of(1000, G));
+    }
+
+    @Test
+    void allocateBatchSumsUp() {
+        var ratios = new long[10_000];
+        for (var i = 0; i < ratios.length; i++) {
+            ratios[i] = i % 7 + 1;
+        }
+        var result = new long[ratios.length];
+        Allocation.allocateFixed(123_457, ratios, result);
+        var sum = 0L;
+        for (var part : result) {
+            sum += part;
+        }
+        assertThat(sum).isEqualTo(123_457L);
+    }
+
+    @Test
+    void rejectInvalidInput() {
+        assertThatThrownBy(() -> Allocation.split(Piece.of(new BigDecimal("1.5")), 2, PC)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Allocation.allocate(Piece.of(1), PC, 0, 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Allocation.allocate(Piece.of(1), PC, -1, 2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Allocation.split(Piece.of(1), 0, PC)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,74 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openwms.core.units.api.MetricDimensionUnit.CM;
+import static org.openwms.core.units.api.MetricDimensionUnit.DM;
+import static org.openwms.core.units.api.MetricDimensionUnit.M;
+import static org.openwms.core.units.api.MetricDimensionUnit.MM;
+
+/**
+ * A DimensionTest.
+ *
+ * @author Heiko Scherrer
+ */
+class DimensionTest {
+
+    @Test void testFit() {
+        var item = Dimension.of(MetricDimension.of(60, CM), MetricDimension.of(2, DM), MetricDimension.of(300, MM));
+        assertThat(item.toMillimeters()).containsExactly(600, 200, 300);
+        assertThat(item.toSortedMillimeters()).containsExactly(200, 300, 600);
+        assertThat(item.fitsIn(Dimension.of(30, 60, 20, CM))).isTrue();
+        assertThat(item.fitsIn(Dimension.of(30, 59, 20, CM))).isFalse();
+        assertThat(item.fitsUprightIn(Dimension.of(20, 60, 30, CM))).isTrue();
+        assertThat(item.fitsUprightIn(Dimension.of(30, 60, 20, CM))).isFalse();
+        assertThat(item).hasToString("60 CM x 2 DM x 300 MM");
+    }
+
+    @Test void testVolumeAndSurface() {
+        var box = Dimension.of(MetricDimension.of(1, M), MetricDimension.of(50, CM), MetricDimension.of(new BigDecimal("0.2"), M));
+        assertThat(box.getVolume(M)).isEqualTo(new BigDecimal("0.1"));
+        assertThat(box.getVolume(CM)).isEqualTo(new BigDecimal("100000"));
+        assertThat(box.getSurface(M)).isEqualTo(new BigDecimal("1.6"));
+        assertThat(box).isEqualTo(Dimension.of(100, 50, 20, CM));
+        assertThat(box.equals(Dimension.of(50, 100, 20, CM))).isFalse();
+    }
+
+    @Test void testBatchFit() {
+        var bins = Dimension.toSortedMillimeters(List.of(Dimension.of(10, 10, 10, CM), Dimension.of(40, 20, 20, CM),
+                Dimension.of(1, 1, 1, M)));
+        var item = Dimension.of(15, 35, 5, CM);
+        var result = new boolean[3];
+        assertThat(item.fitsIn(bins, result)).isEqualTo(2);
+        assertThat(result).containsExactly(false, true, true);
+        assertThat(item.firstFit(bins, 0)).isEqualTo(1);
+        assertThat(item.firstFit(bins, 2)).isEqualTo(2);
+        assertThat(Dimension.of(2, 2, 2, M).firstFit(bins, 0)).isEqualTo(-1);
+    }
+
+    @Test void testInvalid() {
+        assertThatThrownBy(() -> Dimension.of(-1, 1, 1, CM)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Dimension.of(MetricDimension.of(new BigDecimal("0.5"), MM), MetricDimension.of(1, MM),
+                MetricDimension.of(1, MM))).isInstanceOf(ArithmeticException.class);
+    }
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Base64;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openwms.core.units.api.MetricDimensionUnit.CM;
+import static org.openwms.core.units.api.PieceUnit.DOZ;
+import static org.openwms.core.units.api.VolumeUnit.L;
+import static org.openwms.core.units.api.WeightUnit.KG;
+
+/**
+ * A MeasurableProxyTest.
+ *
+ * @author Heiko Scherrer
+ */
+class MeasurableProxyTest {
+
+    /** Piece of 24 DOZ in the default serialized form of former versions. */
+    private static final String LEGACY_PIECE =
+            "rO0ABXNyACBvcmcub3Blbndtcy5jb3JlLnVuaXRzLmFwaS5QaWVjZcgIvk7+zJyXAgACTAAJbWFnbml0dWRldAAWTGphdmEvbWF0aC9CaWdEZWNpbWFsO0wA" +
+            "CHVuaXRUeXBldAAmTG9yZy9vcGVud21zL2NvcmUvdW5pdHMvYXBpL1BpZWNlVW5pdDt4cHNyABRqYXZhLm1hdGguQmlnRGVjaW1hbFTHFVf5gShPAwACSQAF" +
+            "c2NhbGVMAAZpbnRWYWx0ABZMamF2YS9tYXRoL0JpZ0ludGVnZXI7eHIAEGphdmEubGFuZy5OdW1iZXKGrJUdC5TgiwIAAHhwAAAAAHNyABRqYXZhLm1hdGgu" +
+            "QmlnSW50ZWdlcoz8nx+pO/sdAwAGSQAIYml0Q291bnRJAAliaXRMZW5ndGhJABNmaXJzdE5vbnplcm9CeXRlTnVtSQAMbG93ZXN0U2V0Qml0SQAGc2lnbnVt" +
+            "WwAJbWFnbml0dWRldAACW0J4cQB+AAb///////////////7////+AAAAAXVyAAJbQqzzF/gGCFTgAgAAeHAAAAABGHh4fnIAJG9yZy5vcGVud21zLmNvcmUu" +
+            "dW5pdHMuYXBpLlBpZWNlVW5pdAAAAAAAAAAAEgAAeHIADmphdmEubGFuZy5FbnVtAAAAAAAAAAASAAB4cHQAA0RPWg==";
+    /** Weight of 1.5 KG in the default serialized form of former versions. */
+    private static final String LEGACY_WEIGHT =
+            "rO0ABXNyACFvcmcub3Blbndtcy5jb3JlLnVuaXRzLmFwaS5XZWlnaHTUQWDRe6B0zQIAAkwACW1hZ25pdHVkZXQAFkxqYXZhL21hdGgvQmlnRGVjaW1hbDtM" +
+            "AAh1bml0VHlwZXQAJ0xvcmcvb3Blbndtcy9jb3JlL3VuaXRzL2FwaS9XZWlnaHRVbml0O3hwc3IAFGphdmEubWF0aC5CaWdEZWNpbWFsVMcVV/mBKE8DAAJJ" +
+            "AAVzY2FsZUwABmludFZhbHQAFkxqYXZhL21hdGgvQmlnSW50ZWdlcjt4cgAQamF2YS5sYW5nLk51bWJlcoaslR0LlOCLAgAAeHAAAAABc3IAFGphdmEubWF0" +
+            "aC5CaWdJbnRlZ2VyjPyfH6k7+x0DAAZJAAhiaXRDb3VudEkACWJpdExlbmd0aEkAE2ZpcnN0Tm9uemVyb0J5dGVOdW1JAAxsb3dlc3RTZXRCaXRJAAZzaWdu" +
+            "dW1bAAltYWduaXR1ZGV0AAJbQnhxAH4ABv///////////////v////4AAAABdXIAAltCrPMX+AYIVOACAAB4cAAAAAEPeHh+cgAlb3JnLm9wZW53bXMuY29y" +
+            "ZS51bml0cy5hcGkuV2VpZ2h0VW5pdAAAAAAAAAAAEgAAeHIADmphdmEubGFuZy5FbnVtAAAAAAAAAAASAAB4cHQAAktH";
+    /** MetricDimension of 40.5 CM in the default serialized form of former versions. */
+    private static final String LEGACY_METRIC_DIMENSION =
+            "rO0ABXNyACpvcmcub3Blbndtcy5jb3JlLnVuaXRzLmFwaS5NZXRyaWNEaW1lbnNpb26wi2i+MQzGYAIAAkwACW1hZ25pdHVkZXQAFkxqYXZhL21hdGgvQmln" +
+            "RGVjaW1hbDtMAAh1bml0VHlwZXQAMExvcmcvb3Blbndtcy9jb3JlL3VuaXRzL2FwaS9NZXRyaWNEaW1lbnNpb25Vbml0O3hwc3IAFGphdmEubWF0aC5CaWdE" +
+            "ZWNpbWFsVMcVV/mBKE8DAAJJAAVzY2FsZUwABmludFZhbHQAFkxqYXZhL21hdGgvQmlnSW50ZWdlcjt4cgAQamF2YS5sYW5nLk51bWJlcoaslR0LlOCLAgAA" +
+            "eHAAAAABc3IAFGphdmEubWF0aC5CaWdJbnRlZ2VyjPyfH6k7+x0DAAZJAAhiaXRDb3VudEkACWJpdExlbmd0aEkAE2ZpcnN0Tm9uemVyb0J5dGVOdW1JAAxs" +
+            "b3dlc3RTZXRCaXRJAAZzaWdudW1bAAltYWduaXR1ZGV0AAJbQnhxAH4ABv///////////////v////4AAAABdXIAAltCrPMX+AYIVOACAAB4cAAAAAIBlXh4" +
+            "fnIALm9yZy5vcGVud21zLmNvcmUudW5pdHMuYXBpLk1ldHJpY0RpbWVuc2lvblVuaXQAAAAAAAAAABIAAHhyAA5qYXZhLmxhbmcuRW51bQAAAAAAAAAAEgAA" +
+            "eHB0AAJDTQ==";
+
+    @Test
+    void roundTripAllTypes() throws Exception {
+        assertRoundTrip(Piece.of(24, DOZ));
+        assertRoundTrip(Weight.of(new BigDecimal("-1.5"), KG));
+        assertRoundTrip(MetricDimension.of(new BigDecimal("40.50"), CM));
+        assertRoundTrip(Volume.of(3, L));
+        assertRoundTrip(Weight.of(new BigDecimal("123456789012345678901234567890.5"), KG));
+    }
+
+    @Test
+    void readLegacyForm() throws Exception {
+        assertThat(deserialize(Base64.getDecoder().decode(LEGACY_PIECE))).isEqualTo(Piece.of(24, DOZ));
+        assertThat(deserialize(Base64.getDecoder().decode(LEGACY_WEIGHT))).isEqualTo(Weight.of(new BigDecimal("1.5"), KG));
+        var metricDimension = (MetricDimension) deserialize(Base64.getDecoder().decode(LEGACY_METRIC_DIMENSION));
+        assertThat(metricDimension.getMagnitude()).isEqualTo(new BigDecimal("40.5"));
+        assertThat(metricDimension.getUnitType()).isEqualTo(CM);
+    }
+
+    @Test
+    void serializedFormIsSmallerThanLegacyForm() throws Exception {
+        assertThat(serialize(Piece.of(24, DOZ)).length).isLessThan(Base64.getDecoder().decode(LEGACY_PIECE).length / 4);
+        var weights = new ArrayList<Weight>();
+        for (var i = 0; i < 1000; i++) {
+            weights.add(Weight.of(BigDecimal.valueOf(i, 1), KG));
+        }
+        // The default form took 61256 bytes for this list
+        assertThat(serialize(weights).length).isLessThan(15_000);
+    }
+
+    private static void assertRoundTrip(Measurable<BigDecimal, ?, ?> measurable) throws Exception {
+        var result = (Measurable<?, ?, ?>) deserialize(serialize(measurable));
+        assertThat(result.getClass()).isEqualTo(measurable.getClass());
+        assertThat(result.getUnitType()).isEqualTo(measurable.getUnitType());
+        assertThat(result.getMagnitude()).isEqualTo(measurable.getMagnitude());
+    }
+
+    private static byte[] serialize(Object object) throws IOException {
+        var bytes = new ByteArrayOutputStream();
+        try (var out = new ObjectOutputStream(bytes)) {
+            out.writeObject(object);
+        }
+        return bytes.toByteArray();
+    }
+
+    private static Object deserialize(byte[] bytes) throws Exception {
+        try (var in = new ObjectInputStream(new ByteArrayInputStream(bytes))) {
+            return in.readObject();
+        }
+    }
+}
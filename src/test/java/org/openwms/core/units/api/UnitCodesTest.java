@@ -0,0 +1,46 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.api;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.converter.Units;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A UnitCodesTest.
+ *
+ * @author Heiko Scherrer
+ */
+class UnitCodesTest {
+
+    @Test
+    void roundTripAllUnits() {
+        for (var unit : Units.getAllUnits()) {
+            assertThat(UnitCodes.unitOf(UnitCodes.codeOf(unit))).isSameAs(unit);
+        }
+        assertThat(UnitCodes.codeOf(PieceUnit.PC)).isEqualTo(0x10);
+        assertThat(UnitCodes.codeOf(WeightUnit.KG)).isEqualTo(0x22);
+    }
+
+    @Test
+    void rejectUnknownCodes() {
+        assertThatThrownBy(() -> UnitCodes.unitOf(0x05)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> UnitCodes.unitOf(0x1F)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> UnitCodes.unitOf(-1)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
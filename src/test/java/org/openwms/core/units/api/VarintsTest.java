@@ -0,0 +1,66 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * A VarintsTest.
+ *
+ * @author Heiko Scherrer
+ */
+class VarintsTest {
+
+    @Test
+    void roundTripExtremeValues() throws IOException {
+        for (var value : new long[]{0, 1, -1, Long.MAX_VALUE, Long.MIN_VALUE}) {
+            var buffer = ByteBuffer.allocate(Varints.MAX_SIZE);
+            Varints.put(buffer, value);
+            assertThat(Varints.get(buffer.flip())).isEqualTo(value);
+
+            var bytes = new ByteArrayOutputStream();
+            Varints.write(new DataOutputStream(bytes), value);
+            assertThat(Varints.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray())))).isEqualTo(value);
+        }
+        var buffer = ByteBuffer.allocate(Varints.MAX_SIZE);
+        Varints.putUnsigned(buffer, -1L);
+        assertThat(Varints.getUnsigned(buffer.flip())).isEqualTo(-1L);
+    }
+
+    @Test
+    void rejectValuesExceeding64Bits() {
+        var overflow = new byte[]{-1, -1, -1, -1, -1, -1, -1, -1, -1, 0x02};
+        assertThatThrownBy(() -> Varints.getUnsigned(ByteBuffer.wrap(overflow)))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Malformed varint");
+        assertThatThrownBy(() -> Varints.read(new DataInputStream(new ByteArrayInputStream(overflow))))
+                .isInstanceOf(IllegalArgumentException.class)
+                .hasMessageContaining("Malformed varint");
+        var tooLong = new byte[]{-1, -1, -1, -1, -1, -1, -1, -1, -1, -127, 0x00};
+        assertThatThrownBy(() -> Varints.getUnsigned(ByteBuffer.wrap(tooLong)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,60 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.api;
+
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openwms.core.units.api.MetricDimensionUnit.CM;
+import static org.openwms.core.units.api.MetricDimensionUnit.MM;
+import static org.openwms.core.units.api.VolumeUnit.CM3;
+import static org.openwms.core.units.api.VolumeUnit.DM3;
+import static org.openwms.core.units.api.VolumeUnit.L;
+import static org.openwms.core.units.api.VolumeUnit.M3;
+
+/**
+ * A VolumeTest.
+ *
+ * @author Heiko Scherrer
+ */
+class VolumeTest {
+
+    @Test void testConversion() {
+        Volume one_M3 = Volume.of(1, M3);
+        assertThat(one_M3.convertTo(L).getMagnitude()).isEqualByComparingTo(new BigDecimal(1000));
+        assertThat(one_M3.convertTo(CM3).getMagnitude()).isEqualByComparingTo(new BigDecimal(1_000_000));
+        assertThat(Volume.of(1, DM3)).isEqualTo(Volume.of(1, L));
+        assertThat(Volume.of(1, DM3).hashCode()).isEqualTo(Volume.of(1000, CM3).hashCode());
+        assertThat(Volume.of(250, CM3).convertTo(L).getMagnitude()).isEqualByComparingTo(new BigDecimal("0.25"));
+        assertThat(one_M3).hasToString("1 M3");
+    }
+
+    @Test void testArithmetic() {
+        assertThat(Volume.of(1, L).add(Volume.of(1, M3))).isEqualTo(Volume.of(1001, L));
+        assertThat(Volume.of(1, M3).subtract(Volume.of(1, L))).isEqualTo(Volume.of(999, DM3));
+        assertThat(Volume.of(1, L).compareTo(Volume.of(999, CM3))).isPositive();
+        assertThat(Volume.ZERO.isZero()).isTrue();
+    }
+
+    @Test void testFromDimensions() {
+        var volume = Volume.of(MetricDimension.of(50, CM), MetricDimension.of(40, CM), MetricDimension.of(300, MM));
+        assertThat(volume).isEqualTo(Volume.of(60, L));
+        assertThat(volume.getUnitType()).isEqualTo(M3);
+        assertThat(Dimension.of(50, 40, 30, CM).toVolume()).isEqualTo(Volume.of(60_000, CM3));
+    }
+}
@@ -0,0 +1,83 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.codec;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.MetricDimension;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.Weight;
+
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openwms.core.units.api.MetricDimensionUnit.MM;
+import static org.openwms.core.units.api.PieceUnit.PC;
+import static org.openwms.core.units.api.WeightUnit.KG;
+
+/**
+ * A MeasurableCodecTest.
+ *
+ * @author Heiko Scherrer
+ */
+class MeasurableCodecTest {
+
+    @Test
+    void encodeIntoFewBytes() {
+        var buffer = ByteBuffer.allocate(MeasurableCodec.MAX_ENCODED_SIZE);
+        MeasurableCodec.encode(Piece.of(24, PC), buffer);
+        assertThat(buffer.position()).isEqualTo(3);
+
+        buffer.clear();
+        MeasurableCodec.encode(Weight.of(new BigDecimal("1.5"), KG), buffer);
+        assertThat(buffer.position()).isEqualTo(3);
+        var decoded = MeasurableCodec.decode(buffer.flip());
+        assertThat(decoded).isEqualTo(Weight.of(new BigDecimal("1.5"), KG));
+        assertThat(decoded.getUnitType()).isEqualTo(KG);
+        assertThat(buffer.hasRemaining()).isFalse();
+    }
+
+    @Test
+    void roundTripListOnDirectBuffer() {
+        var values = List.of(Piece.of(-3, PC), Weight.of(new BigDecimal("-0.001"), KG), MetricDimension.of(new BigDecimal("1234.50"), MM),
+                Weight.of(new BigDecimal(Long.MAX_VALUE), KG));
+        var buffer = ByteBuffer.allocateDirect(1 + values.size() * MeasurableCodec.MAX_ENCODED_SIZE);
+
+        MeasurableCodec.encodeAll(values, buffer);
+        var decoded = MeasurableCodec.decodeAll(buffer.flip());
+
+        assertThat(decoded).containsExactly(values.get(0), values.get(1), values.get(2), values.get(3));
+        assertThat(((BigDecimal) decoded.get(2).getMagnitude()).scale()).isEqualTo(2);
+    }
+
+    @Test
+    void roundTripFixedValues() {
+        long[] fixed = {0, 1, -1, 63, -64, 64, Long.MIN_VALUE, Long.MAX_VALUE};
+        var buffer = ByteBuffer.allocate(100);
+        MeasurableCodec.encodeFixed(fixed, buffer);
+        assertThat(buffer.position()).isEqualTo(1 + 5 + 2 + 10 + 10);
+        assertThat(MeasurableCodec.decodeFixed(buffer.flip())).containsExactly(fixed);
+    }
+
+    @Test
+    void rejectTooLargeMagnitudes() {
+        var buffer = ByteBuffer.allocate(MeasurableCodec.MAX_ENCODED_SIZE);
+        assertThatThrownBy(() -> MeasurableCodec.encode(Piece.of(new BigDecimal("12345678901234567890123"), PC), buffer))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.concurrent;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.MetricDimension;
+import org.openwms.core.units.api.MetricDimensionUnit;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.PieceUnit;
+import org.openwms.core.units.api.Weight;
+import org.openwms.core.units.api.WeightUnit;
+
+import java.math.BigDecimal;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openwms.core.units.api.MetricDimensionUnit.CM;
+import static org.openwms.core.units.api.MetricDimensionUnit.M;
+import static org.openwms.core.units.api.PieceUnit.DOZ;
+import static org.openwms.core.units.api.PieceUnit.PC;
+import static org.openwms.core.units.api.WeightUnit.G;
+import static org.openwms.core.units.api.WeightUnit.KG;
+import static org.openwms.core.units.api.WeightUnit.MG;
+
+/**
+ * A MeasurableAdderTest.
+ *
+ * @author Heiko Scherrer
+ */
+class MeasurableAdderTest {
+
+    @Test
+    void addAndSubtractMixedUnits() {
+        MeasurableAdder<Weight, WeightUnit> adder = MeasurableAdder.of(KG);
+        adder.add(Weight.of(2, KG));
+        adder.add(Weight.of(500, G));
+        adder.subtract(Weight.of(250, MG));
+        adder.add(null);
+        assertThat(adder.sum()).isEqualTo(Weight.of(new BigDecimal("2.49975"), KG));
+        assertThat(adder.sum().getUnitType()).isEqualTo(KG);
+        assertThat(adder.sum(G).getMagnitude()).isEqualTo(new BigDecimal("2499.75"));
+        assertThat(adder.sumFixed()).isEqualTo(2_499_750L);
+    }
+
+    @Test
+    void sumPiecesInDozen() {
+        MeasurableAdder<Piece, PieceUnit> adder = MeasurableAdder.of(PC);
+        adder.add(Piece.of(2, DOZ));
+        adder.add(Piece.of(6));
+        assertThat(adder.sum()).isEqualTo(Piece.of(30));
+        assertThat(adder.sum(DOZ).getMagnitude()).isEqualTo(new BigDecimal("2.5"));
+        assertThat(adder.sumThenReset()).isEqualTo(Piece.of(30));
+        assertThat(adder.sum().isZero()).isTrue();
+    }
+
+    @Test
+    void sumMetricDimensions() {
+        MeasurableAdder<MetricDimension, MetricDimensionUnit> adder = MeasurableAdder.of(CM);
+        adder.add(MetricDimension.of(1, M));
+        adder.add(MetricDimension.of(5, CM));
+        assertThat(adder.sum().getMagnitude()).isEqualTo(new BigDecimal("105"));
+    }
+
+    @Test
+    void rejectValuesBelowResolution() {
+        MeasurableAdder<Weight, WeightUnit> adder = MeasurableAdder.of(KG);
+        assertThatThrownBy(() -> adder.add(Weight.of(new BigDecimal("0.1"), MG))).isInstanceOf(ArithmeticException.class);
+    }
+
+    @Test
+    void concurrentUpdates() throws Exception {
+        MeasurableAdder<Weight, WeightUnit> adder = MeasurableAdder.of(KG);
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            IntStream.range(0, 10_000).forEach(i -> executor.execute(() -> {
+                adder.add(Weight.of(3, G));
+                adder.subtract(Weight.of(1, G));
+            }));
+        }
+        assertThat(adder.sum().getMagnitude()).isEqualTo(new BigDecimal("20"));
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.concurrent;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.PieceUnit;
+import org.openwms.core.units.api.Weight;
+import org.openwms.core.units.api.WeightUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openwms.core.units.api.PieceUnit.DOZ;
+import static org.openwms.core.units.api.PieceUnit.PC;
+import static org.openwms.core.units.api.WeightUnit.G;
+import static org.openwms.core.units.api.WeightUnit.KG;
+
+/**
+ * A QuantityCounterTest.
+ *
+ * @author Heiko Scherrer
+ */
+class QuantityCounterTest {
+
+    @Test
+    void mergeIsCommutativeAssociativeAndIdempotent() {
+        QuantityCounter<Weight, WeightUnit> a = QuantityCounter.of("A", KG);
+        QuantityCounter<Weight, WeightUnit> b = QuantityCounter.of("B", KG);
+        QuantityCounter<Weight, WeightUnit> c = QuantityCounter.of("C", G);
+        a.add(Weight.of(5, KG));
+        a.subtract(Weight.of(1, KG));
+        b.add(Weight.of(500, G));
+        c.add(Weight.of(-250, G));
+
+        QuantityCounter<Weight, WeightUnit> left = QuantityCounter.of("X", KG);
+        left.merge(a);
+        left.merge(b);
+        left.merge(c);
+        QuantityCounter<Weight, WeightUnit> right = QuantityCounter.of("Y", KG);
+        right.merge(c);
+        right.merge(b);
+        right.merge(a);
+        right.merge(a);
+        right.merge(c);
+
+        assertThat(left.value()).isEqualTo(Weight.of(4250, G));
+        assertThat(right.value()).isEqualTo(left.value());
+    }
+
+    @Test
+    void mergeBinaryState() {
+        QuantityCounter<Piece, PieceUnit> a = QuantityCounter.of("A", PC);
+        QuantityCounter<Piece, PieceUnit> b = QuantityCounter.of("B", DOZ);
+        a.add(Piece.of(10));
+        b.add(Piece.of(1, DOZ));
+
+        a.merge(b.toBytes());
+        b.merge(a.toBytes());
+        a.add(Piece.of(2));
+        b.merge(a.toBytes());
+        b.merge(a.toBytes());
+
+        assertThat(a.value()).isEqualTo(Piece.of(24));
+        assertThat(b.value()).isEqualTo(Piece.of(2, DOZ));
+    }
+
+    @Test
+    void rejectOtherDimensions() {
+        QuantityCounter<Piece, PieceUnit> pieces = QuantityCounter.of("A", PC);
+        QuantityCounter<Weight, WeightUnit> weights = QuantityCounter.of("A", KG);
+        assertThatThrownBy(() -> pieces.merge(weights.toBytes())).isInstanceOf(IllegalArgumentException.class);
+    }
+}
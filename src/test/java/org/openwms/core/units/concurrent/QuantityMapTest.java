@@ -0,0 +1,69 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.concurrent;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.PieceUnit;
+
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openwms.core.units.api.PieceUnit.DOZ;
+import static org.openwms.core.units.api.PieceUnit.PC;
+
+/**
+ * A QuantityMapTest.
+ *
+ * @author Heiko Scherrer
+ */
+class QuantityMapTest {
+
+    @Test
+    void addSubtractAndGet() {
+        QuantityMap<String, Piece, PieceUnit> stock = QuantityMap.of(PC);
+        stock.add("LOC-1", Piece.of(2, DOZ));
+        stock.subtract("LOC-1", Piece.of(4));
+        stock.add("LOC-2", Piece.of(1));
+        assertThat(stock.get("LOC-1")).isEqualTo(Piece.of(20));
+        assertThat(stock.get("LOC-2")).isEqualTo(Piece.of(1));
+        assertThat(stock.get("UNKNOWN").isZero()).isTrue();
+        assertThat(stock.containsKey("UNKNOWN")).isFalse();
+        assertThat(stock.size()).isEqualTo(2);
+    }
+
+    @Test
+    void snapshotAndRemove() {
+        QuantityMap<String, Piece, PieceUnit> stock = QuantityMap.of(PC);
+        stock.add("SKU-1", Piece.of(3));
+        stock.add("SKU-2", Piece.of(5));
+        var snapshot = stock.snapshot();
+        assertThat(stock.remove("SKU-1")).isEqualTo(Piece.of(3));
+        assertThat(stock.size()).isEqualTo(1);
+        assertThat(snapshot).containsEntry("SKU-1", Piece.of(3));
+        assertThat(snapshot).containsEntry("SKU-2", Piece.of(5));
+    }
+
+    @Test
+    void concurrentUpdatesOnHotKeys() {
+        QuantityMap<Integer, Piece, PieceUnit> stock = QuantityMap.of(PC);
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            IntStream.range(0, 20_000).forEach(i -> executor.execute(() -> stock.add(i % 4, Piece.of(1))));
+        }
+        IntStream.range(0, 4).forEach(k -> assertThat(stock.getFixed(k)).isEqualTo(5_000_000L));
+    }
+}
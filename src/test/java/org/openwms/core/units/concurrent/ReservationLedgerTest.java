@@ -0,0 +1,81 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.concurrent;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.PieceUnit;
+
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openwms.core.units.api.PieceUnit.DOZ;
+import static org.openwms.core.units.api.PieceUnit.PC;
+
+/**
+ * A ReservationLedgerTest.
+ *
+ * @author Heiko Scherrer
+ */
+class ReservationLedgerTest {
+
+    @Test
+    void reserveReleaseAndCommit() {
+        ReservationLedger<String, Piece, PieceUnit> ledger = ReservationLedger.of(PC);
+        ledger.receive("SKU-1", Piece.of(1, DOZ));
+
+        var first = ledger.tryReserve("SKU-1", Piece.of(10)).orElseThrow();
+        assertThat(ledger.getAvailable("SKU-1")).isEqualTo(Piece.of(2));
+        assertThat(ledger.getReserved("SKU-1")).isEqualTo(Piece.of(10));
+        assertThat(ledger.tryReserve("SKU-1", Piece.of(3))).isEmpty();
+
+        assertThat(first.release()).isTrue();
+        assertThat(first.commit()).isFalse();
+        assertThat(first.isOpen()).isFalse();
+        assertThat(ledger.getAvailable("SKU-1")).isEqualTo(Piece.of(12));
+
+        var second = ledger.tryReserve("SKU-1", Piece.of(12)).orElseThrow();
+        assertThat(second.commit()).isTrue();
+        assertThat(second.release()).isFalse();
+        assertThat(ledger.getAvailable("SKU-1").isZero()).isTrue();
+        assertThat(ledger.getReserved("SKU-1").isZero()).isTrue();
+    }
+
+    @Test
+    void rejectUnknownKeysAndNegativeQuantities() {
+        ReservationLedger<String, Piece, PieceUnit> ledger = ReservationLedger.of(PC);
+        assertThat(ledger.tryReserve("UNKNOWN", Piece.of(1))).isEmpty();
+        assertThatThrownBy(() -> ledger.tryReserve("UNKNOWN", Piece.of(-1))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void neverOvercommitUnderContention() {
+        ReservationLedger<String, Piece, PieceUnit> ledger = ReservationLedger.of(PC);
+        ledger.receive("HOT", Piece.of(1_000));
+        var granted = new AtomicInteger();
+        try (var executor = Executors.newFixedThreadPool(8)) {
+            IntStream.range(0, 5_000).forEach(i -> executor.execute(() ->
+                    ledger.tryReserve("HOT", Piece.of(1)).ifPresent(r -> granted.incrementAndGet())
+            ));
+        }
+        assertThat(granted.get()).isEqualTo(1_000);
+        assertThat(ledger.getAvailable("HOT").isZero()).isTrue();
+        assertThat(ledger.getReserved("HOT")).isEqualTo(Piece.of(1_000));
+    }
+}
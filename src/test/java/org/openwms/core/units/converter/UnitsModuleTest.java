@@ -0,0 +1,82 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.converter;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.exc.InvalidFormatException;
+import com.fasterxml.jackson.databind.exc.MismatchedInputException;
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Measurable;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.Weight;
+import org.openwms.core.units.api.WeightUnit;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openwms.core.units.api.PieceUnit.DOZ;
+import static org.openwms.core.units.api.WeightUnit.G;
+import static org.openwms.core.units.api.WeightUnit.KG;
+
+/**
+ * A UnitsModuleTest.
+ *
+ * @author Heiko Scherrer
+ */
+class UnitsModuleTest {
+
+    private final ObjectMapper mapper = new ObjectMapper().registerModule(new UnitsModule());
+
+    public record Line(Weight weight, Measurable<?, ?, ?> quantity, BaseUnit<?> unit, List<Weight> weights) {
+    }
+
+    @Test
+    void writeShortForm() throws Exception {
+        var line = new Line(Weight.of(new BigDecimal("1.5"), KG), Piece.of(2, DOZ), G, List.of(Weight.of(3, G)));
+        assertThat(mapper.writeValueAsString(line))
+                .isEqualTo("{\"weight\":\"1.5 KG\",\"quantity\":\"2 DOZ\",\"unit\":\"G\",\"weights\":[\"3 G\"]}");
+    }
+
+    @Test
+    void readShortForm() throws Exception {
+        var line = mapper.readValue("{\"weight\":\"1.5 KG\",\"quantity\":\"2 DOZ\",\"unit\":\"G\",\"weights\":[\"3 G\"]}", Line.class);
+        assertThat(line.weight()).isEqualTo(Weight.of(1500, G));
+        assertThat(line.quantity()).isEqualTo(Piece.of(2, DOZ));
+        assertThat(line.unit()).isEqualTo(G);
+        assertThat(line.weights()).containsExactly(Weight.of(3, G));
+    }
+
+    @Test
+    void readFormerClassIdForm() throws Exception {
+        var legacy = new ObjectMapper().writeValueAsString(new Line(Weight.of(new BigDecimal("1.5"), KG), Piece.of(2, DOZ), G,
+                List.of(Weight.of(3, G))));
+        var line = mapper.readValue(legacy, Line.class);
+        assertThat(line.weight()).isEqualTo(Weight.of(new BigDecimal("1.5"), KG));
+        assertThat(line.quantity()).isEqualTo(Piece.of(2, DOZ));
+        assertThat(line.unit()).isEqualTo(G);
+        assertThat(mapper.readValue("[\"org.openwms.core.units.api.WeightUnit\",\"KG\"]", WeightUnit.class)).isEqualTo(KG);
+    }
+
+    @Test
+    void rejectMismatchingUnits() {
+        assertThatThrownBy(() -> mapper.readValue("\"2 PC\"", Weight.class)).isInstanceOf(MismatchedInputException.class);
+        assertThatThrownBy(() -> mapper.readValue("\"2 XY\"", Weight.class)).isInstanceOf(InvalidFormatException.class);
+        assertThatThrownBy(() -> mapper.readValue("\"PC\"", WeightUnit.class)).isInstanceOf(MismatchedInputException.class);
+    }
+}
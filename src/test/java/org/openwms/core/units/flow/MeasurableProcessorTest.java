@@ -0,0 +1,88 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.flow;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.PieceUnit;
+import org.openwms.core.units.stats.MeasurableSummaryStatistics;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.SubmissionPublisher;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openwms.core.units.api.PieceUnit.DOZ;
+import static org.openwms.core.units.api.PieceUnit.PC;
+
+/**
+ * A MeasurableProcessorTest.
+ *
+ * @author Heiko Scherrer
+ */
+class MeasurableProcessorTest {
+
+    @Test
+    void parseNormalizeAndAggregate() throws Exception {
+        List<String> invalid = new CopyOnWriteArrayList<>();
+        MeasurableParser<Piece, PieceUnit> parser = MeasurableParser.of(PC, (s, e) -> invalid.add(s));
+        UnitNormalizer<Piece, PieceUnit> normalizer = UnitNormalizer.of(PC);
+        WindowAggregator<Piece, PieceUnit> aggregator = WindowAggregator.of(PC, 1_000);
+        List<MeasurableSummaryStatistics<Piece, PieceUnit>> windows = new CopyOnWriteArrayList<>();
+        var done = aggregator.consume(windows::add);
+        normalizer.subscribe(aggregator);
+        parser.subscribe(normalizer);
+
+        try (var source = new SubmissionPublisher<String>(MeasurableProcessor.VIRTUAL_THREADS, 16)) {
+            source.subscribe(parser);
+            IntStream.range(0, 2_500).forEach(i -> source.submit(i % 2 == 0 ? "1 DOZ" : "12 PC"));
+            source.submit("12 KG");
+            source.submit("invalid");
+        }
+        done.get(10, TimeUnit.SECONDS);
+
+        assertThat(invalid).containsExactly("12 KG", "invalid");
+        assertThat(windows).hasSize(3);
+        assertThat(windows.get(0).getCount()).isEqualTo(1_000L);
+        assertThat(windows.get(2).getCount()).isEqualTo(500L);
+        assertThat(windows.get(0).getSum()).isEqualTo(Piece.of(12_000));
+        assertThat(windows.get(2).getSum().convertTo(DOZ)).isEqualTo(Piece.of(500, DOZ));
+    }
+
+    @Test
+    void invalidInputTerminatesTheFlow() {
+        MeasurableParser<Piece, PieceUnit> parser = MeasurableParser.of(PC);
+        var done = parser.consume(p -> { });
+        try (var source = new SubmissionPublisher<String>()) {
+            source.subscribe(parser);
+            source.submit("1 PC");
+            source.submit("1 KG");
+        }
+        assertThatThrownBy(() -> done.get(10, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasMessageContaining("1 KG");
+    }
+
+    @Test
+    void rejectMissingTargetUnit() {
+        assertThatThrownBy(() -> WindowAggregator.<Piece, PieceUnit>of(null, 10))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,109 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.index;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.MetricDimension;
+import org.openwms.core.units.api.MetricDimensionUnit;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.PieceUnit;
+import org.openwms.core.units.api.Weight;
+import org.openwms.core.units.api.WeightUnit;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openwms.core.units.api.MetricDimensionUnit.CM;
+import static org.openwms.core.units.api.MetricDimensionUnit.M;
+import static org.openwms.core.units.api.MetricDimensionUnit.MM;
+import static org.openwms.core.units.api.PieceUnit.DOZ;
+import static org.openwms.core.units.api.PieceUnit.PC;
+import static org.openwms.core.units.api.WeightUnit.G;
+import static org.openwms.core.units.api.WeightUnit.KG;
+
+/**
+ * A RangeIndexTest.
+ *
+ * @author Heiko Scherrer
+ */
+class RangeIndexTest {
+
+    @Test
+    void rangeQueriesOnWeights() {
+        RangeIndex<String, Weight, WeightUnit> index = RangeIndex.of(KG, 2);
+        index.put("A", Weight.of(500, KG));
+        index.put("B", Weight.of(120, KG));
+        index.put("C", Weight.of(new BigDecimal("0.3"), WeightUnit.T));
+        index.put("D", Weight.of(120_000, G));
+        assertThat(index.size()).isEqualTo(4);
+        assertThat(index.range(Weight.of(100, KG), Weight.of(300, KG))).containsExactly("B", "D", "C");
+        assertThat(index.atLeast(Weight.of(300, KG))).containsExactly("C", "A");
+        assertThat(index.atMost(Weight.of(119, KG))).isEmpty();
+        assertThat(index.get("C")).hasValue(Weight.of(300, KG));
+        assertThat(index.get("X")).isEmpty();
+    }
+
+    @Test
+    void updateAndRemove() {
+        RangeIndex<Integer, Piece, PieceUnit> index = RangeIndex.of(PC);
+        for (var i = 0; i < 100; i++) {
+            index.put(i, Piece.of(i));
+        }
+        index.put(10, Piece.of(1, DOZ));
+        index.put(50, Piece.of(50));
+        assertThat(index.remove(11)).isTrue();
+        assertThat(index.remove(11)).isFalse();
+        assertThat(index.range(Piece.of(10), Piece.of(12))).containsExactly(12, 10);
+        assertThat(index.countFixed(0, 99_000)).isEqualTo(99);
+        assertThat(index.containsKey(11)).isFalse();
+    }
+
+    @Test
+    void manyEqualValues() {
+        RangeIndex<Integer, Piece, PieceUnit> index = RangeIndex.of(PC, 10_000);
+        for (var i = 0; i < 10_000; i++) {
+            index.put(i, Piece.of(i % 2 == 0 ? 0 : 24));
+        }
+        for (var i = 0; i < 10_000; i += 4) {
+            index.put(i, Piece.of(1, DOZ));
+            assertThat(index.remove(i + 1)).isTrue();
+        }
+        assertThat(index.size()).isEqualTo(7_500);
+        var empty = index.range(Piece.of(0), Piece.of(0));
+        assertThat(empty).hasSize(2_500);
+        assertThat(empty.subList(0, 3)).containsExactly(2, 6, 10);
+        var dozen = index.range(Piece.of(12), Piece.of(12));
+        assertThat(dozen).hasSize(2_500);
+        assertThat(dozen.subList(0, 3)).containsExactly(0, 4, 8);
+        var full = index.range(Piece.of(24), Piece.of(24));
+        assertThat(full).hasSize(2_500);
+        assertThat(full.subList(0, 3)).containsExactly(3, 7, 11);
+        assertThat(index.get(8)).hasValue(Piece.of(12));
+    }
+
+    @Test
+    void floorAndCeiling() {
+        RangeIndex<String, MetricDimension, MetricDimensionUnit> index = RangeIndex.of(CM);
+        index.put("low", MetricDimension.of(90, CM));
+        index.put("mid", MetricDimension.of(new BigDecimal("1.5"), M));
+        index.put("high", MetricDimension.of(2200, MM));
+        assertThat(index.ceiling(MetricDimension.of(100, CM))).hasValue("mid");
+        assertThat(index.ceiling(MetricDimension.of(3, M))).isEmpty();
+        assertThat(index.floor(MetricDimension.of(2, M))).hasValue("mid");
+        assertThat(index.floor(MetricDimension.of(80, CM))).isEmpty();
+        assertThat(index.floor(MetricDimension.of(new BigDecimal("900.0001"), MM))).hasValue("low");
+    }
+}
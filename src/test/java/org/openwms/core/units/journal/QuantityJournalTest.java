@@ -0,0 +1,174 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.journal;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.BaseUnit;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.PieceUnit;
+import org.openwms.core.units.api.Weight;
+import org.openwms.core.units.api.WeightUnit;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openwms.core.units.api.PieceUnit.DOZ;
+import static org.openwms.core.units.api.PieceUnit.PC;
+import static org.openwms.core.units.api.WeightUnit.KG;
+
+/**
+ * A QuantityJournalTest.
+ *
+ * @author Heiko Scherrer
+ */
+class QuantityJournalTest {
+
+    @Test
+    void appendAndRestoreAfterRestart() throws IOException {
+        var dir = Files.createTempDirectory("journal");
+        try {
+            var journalFile = dir.resolve("stock.journal");
+            var snapshotFile = dir.resolve("stock.snapshot");
+            try (QuantityJournal<Piece, PieceUnit> journal = QuantityJournal.open(journalFile, snapshotFile, PC)) {
+                assertThat(journal.append(1, Piece.of(2, DOZ), 1000)).isEqualTo(0);
+                journal.append(2, Piece.of(5), 1001);
+                journal.snapshot();
+                journal.append(1, Piece.of(-4), 1002);
+                assertThat(journal.getTotals().get(1L)).isEqualTo(Piece.of(20));
+            }
+            try (QuantityJournal<Piece, PieceUnit> journal = QuantityJournal.open(journalFile, snapshotFile, PC)) {
+                assertThat(journal.size()).isEqualTo(3);
+                assertThat(journal.getTotals().get(1L)).isEqualTo(Piece.of(20));
+                assertThat(journal.getTotals().get(2L)).isEqualTo(Piece.of(5));
+
+                var units = new ArrayList<BaseUnit<?>>();
+                var timestamps = new ArrayList<Long>();
+                journal.forEach(1, (sequence, key, unit, fixed, timestamp) -> {
+                    units.add(unit);
+                    timestamps.add(timestamp);
+                });
+                assertThat(units).containsExactly(PC, PC);
+                assertThat(timestamps).containsExactly(1001L, 1002L);
+            }
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    void growBeyondInitialCapacityAndReplayInParallel() throws IOException {
+        var dir = Files.createTempDirectory("journal");
+        try {
+            var journalFile = dir.resolve("weight.journal");
+            var snapshotFile = dir.resolve("weight.snapshot");
+            var records = QuantityJournal.DEFAULT_CAPACITY + 100;
+            try (QuantityJournal<Weight, WeightUnit> journal = QuantityJournal.open(journalFile, snapshotFile, KG)) {
+                for (var i = 0; i < records; i++) {
+                    journal.append(i % 10, Weight.of(1, KG), i);
+                }
+            }
+            try (QuantityJournal<Weight, WeightUnit> journal = QuantityJournal.open(journalFile, snapshotFile, KG)) {
+                assertThat(journal.size()).isEqualTo(records);
+                assertThat(journal.getTotals().getFixed(0L)).isEqualTo(6564 * 1_000_000L);
+            }
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    void growthStopsAtTheLargestMapping() {
+        long capacity = QuantityJournal.DEFAULT_CAPACITY;
+        while (capacity < QuantityJournal.MAX_RECORDS) {
+            capacity = QuantityJournal.grow(capacity, QuantityJournal.MAX_RECORDS);
+        }
+        assertThat(capacity).isEqualTo(QuantityJournal.MAX_RECORDS);
+        assertThat(QuantityJournal.HEADER_SIZE + capacity * QuantityJournal.RECORD_SIZE).isLessThanOrEqualTo(Integer.MAX_VALUE);
+    }
+
+    @Test
+    void rejectAppendsWhenFull() throws IOException {
+        var dir = Files.createTempDirectory("journal");
+        try {
+            var journalFile = dir.resolve("stock.journal");
+            var snapshotFile = dir.resolve("stock.snapshot");
+            var maxRecords = QuantityJournal.DEFAULT_CAPACITY + 3;
+            try (QuantityJournal<Piece, PieceUnit> journal = QuantityJournal.open(journalFile, snapshotFile, PC, maxRecords)) {
+                for (var i = 0; i < maxRecords; i++) {
+                    journal.append(1, Piece.of(1), i);
+                }
+                assertThatThrownBy(() -> journal.append(1, Piece.of(1), 0)).isInstanceOf(IllegalStateException.class);
+                assertThat(journal.size()).isEqualTo(maxRecords);
+            }
+            assertThat(Files.size(journalFile)).isEqualTo(QuantityJournal.HEADER_SIZE + (long) maxRecords * QuantityJournal.RECORD_SIZE);
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    void rejectJournalOfOtherDimension() throws IOException {
+        var dir = Files.createTempDirectory("journal");
+        try {
+            var journalFile = dir.resolve("stock.journal");
+            var snapshotFile = dir.resolve("stock.snapshot");
+            QuantityJournal.open(journalFile, snapshotFile, PC).close();
+            assertThatThrownBy(() -> QuantityJournal.open(journalFile, snapshotFile, KG))
+                    .isInstanceOf(IllegalArgumentException.class);
+        } finally {
+            delete(dir);
+        }
+    }
+
+    @Test
+    void rejectCorruptedCount() throws IOException {
+        var dir = Files.createTempDirectory("journal");
+        try {
+            var journalFile = dir.resolve("stock.journal");
+            var snapshotFile = dir.resolve("stock.snapshot");
+            try (QuantityJournal<Piece, PieceUnit> journal = QuantityJournal.open(journalFile, snapshotFile, PC)) {
+                journal.append(1, Piece.of(1), 0);
+            }
+            for (var count : new long[]{QuantityJournal.DEFAULT_CAPACITY + 1L, -1}) {
+                try (var channel = FileChannel.open(journalFile, StandardOpenOption.WRITE)) {
+                    channel.write(ByteBuffer.allocate(Long.BYTES).putLong(0, count), 16);
+                }
+                assertThatThrownBy(() -> QuantityJournal.open(journalFile, snapshotFile, PC))
+                        .isInstanceOf(IllegalArgumentException.class)
+                        .hasMessageContaining("count");
+            }
+        } finally {
+            delete(dir);
+        }
+    }
+
+    private static void delete(Path dir) throws IOException {
+        try (Stream<Path> paths = Files.walk(dir)) {
+            for (var path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+}
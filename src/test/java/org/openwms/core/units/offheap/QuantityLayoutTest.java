@@ -0,0 +1,96 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.offheap;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.Measurable;
+import org.openwms.core.units.api.MetricDimension;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.UnitCodes;
+import org.openwms.core.units.api.Weight;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openwms.core.units.api.MetricDimensionUnit.CM;
+import static org.openwms.core.units.api.PieceUnit.DOZ;
+import static org.openwms.core.units.api.WeightUnit.G;
+import static org.openwms.core.units.api.WeightUnit.KG;
+
+/**
+ * A QuantityLayoutTest.
+ *
+ * @author Heiko Scherrer
+ */
+class QuantityLayoutTest {
+
+    @Test
+    void exportAndReadDirectBuffer() {
+        List<Measurable<?, ?, ?>> quantities = List.of(Piece.of(2, DOZ), Weight.of(new BigDecimal("1.5"), KG), MetricDimension.of(40, CM));
+
+        var buffer = QuantityLayout.export(quantities);
+
+        assertThat(buffer.isDirect()).isTrue();
+        assertThat(buffer.remaining()).isEqualTo(3 * QuantityLayout.ELEMENT_SIZE);
+        assertThat(buffer.order()).isEqualTo(ByteOrder.LITTLE_ENDIAN);
+        assertThat(buffer.getLong(16)).isEqualTo(1_500_000L);
+        assertThat(buffer.getInt(24)).isEqualTo(UnitCodes.codeOf(KG));
+        assertThat(buffer.getInt(28)).isZero();
+        var read = QuantityLayout.read(buffer);
+        assertThat(read.get(0)).isEqualTo(Piece.of(2, DOZ));
+        assertThat(read.get(0).getUnitType()).isEqualTo(DOZ);
+        assertThat(read.get(1)).isEqualTo(Weight.of(1500, G));
+        assertThat(read.get(2).getUnitType()).isEqualTo(CM);
+    }
+
+    @Test
+    void exportedBufferIsReadableAsIs() {
+        var buffer = QuantityLayout.export(List.of(Weight.of(1, KG)));
+
+        assertThat(buffer.getLong(0)).isEqualTo(1_000_000L);
+        assertThat(buffer.getInt(8)).isEqualTo(UnitCodes.codeOf(KG));
+    }
+
+    @Test
+    void writeAndReadFixedValues() {
+        var buffer = ByteBuffer.allocateDirect(4 * QuantityLayout.ELEMENT_SIZE);
+        QuantityLayout.writeFixed(new long[]{1_000, 2_000}, G, buffer);
+        assertThat(buffer.position()).isEqualTo(2 * QuantityLayout.ELEMENT_SIZE);
+
+        var fixed = new long[4];
+        var codes = new int[4];
+        assertThat(QuantityLayout.readFixed(buffer.flip(), fixed, codes)).isEqualTo(2);
+        assertThat(fixed).containsExactly(1_000, 2_000, 0, 0);
+        assertThat(codes[1]).isEqualTo(UnitCodes.codeOf(G));
+    }
+
+    @Test
+    void exportToMappedFile() throws IOException {
+        var file = Files.createTempFile("quantities", ".bin");
+        try {
+            QuantityLayout.export(List.of(Weight.of(3, KG), Weight.of(7, G)), file);
+            assertThat(Files.size(file)).isEqualTo(2L * QuantityLayout.ELEMENT_SIZE);
+            assertThat(QuantityLayout.read(QuantityLayout.map(file))).containsExactly(Weight.of(3, KG), Weight.of(7, G));
+        } finally {
+            Files.delete(file);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.packaging;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.Piece;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openwms.core.units.api.PieceUnit.DOZ;
+
+/**
+ * A PackagingHierarchyTest.
+ *
+ * @author Heiko Scherrer
+ */
+class PackagingHierarchyTest {
+
+    private static final PackagingHierarchy HIERARCHY = PackagingHierarchy.of("PC")
+            .then("INNER", 6)
+            .then("CASE", 4)
+            .then("PALLET", 38);
+
+    @Test
+    void decomposeExactly() {
+        var decomposition = HIERARCHY.decompose(Piece.of(1000));
+        assertThat(decomposition.getCounts()).containsExactly(4, 2, 3, 1);
+        assertThat(decomposition.getCount("CASE")).isEqualTo(3);
+        assertThat(decomposition).hasToString("1 PALLET + 3 CASE + 2 INNER + 4 PC");
+        assertThat(decomposition.toPieces()).isEqualTo(Piece.of(1000));
+        assertThat(HIERARCHY.decompose(Piece.of(10, DOZ))).hasToString("5 CASE");
+        assertThat(HIERARCHY.decompose(Piece.of(0))).hasToString("0 PC");
+    }
+
+    @Test
+    void composeAndConvert() {
+        assertThat(HIERARCHY.piecesPer("PALLET")).isEqualTo(912);
+        assertThat(HIERARCHY.compose(4, 2, 3, 1)).isEqualTo(1000);
+        assertThat(HIERARCHY.toPieces("CASE", 2)).isEqualTo(Piece.of(48));
+        assertThat(HIERARCHY.getLevels()).containsExactly("PC", "INNER", "CASE", "PALLET");
+    }
+
+    @Test
+    void batch() {
+        long[] quantities = {1000, 23, 48};
+        var counts = new long[quantities.length * 4];
+        HIERARCHY.decomposeAll(quantities, counts);
+        assertThat(counts).containsExactly(4, 2, 3, 1, 5, 3, 0, 0, 0, 0, 2, 0);
+
+        var cases = new long[3];
+        var eaches = new long[3];
+        assertThat(HIERARCHY.splitAll("CASE", quantities, cases, eaches)).isEqualTo(43);
+        assertThat(cases).containsExactly(41, 0, 2);
+        assertThat(eaches).containsExactly(16, 23, 0);
+    }
+
+    @Test
+    void rejectInvalidInput() {
+        assertThatThrownBy(() -> HIERARCHY.decompose(Piece.of(new BigDecimal("1.5")))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HIERARCHY.then("CASE", 2)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HIERARCHY.then("TRUCK", 0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HIERARCHY.piecesPer("LAYER")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> HIERARCHY.splitAll("CASE", new long[]{12, -1}, new long[2], new long[2]))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
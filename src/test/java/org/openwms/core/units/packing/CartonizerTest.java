@@ -0,0 +1,131 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.packing;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.Dimension;
+import org.openwms.core.units.api.MetricDimension;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.Weight;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openwms.core.units.api.MetricDimensionUnit.CM;
+import static org.openwms.core.units.api.MetricDimensionUnit.M;
+import static org.openwms.core.units.api.WeightUnit.G;
+import static org.openwms.core.units.api.WeightUnit.KG;
+
+/**
+ * A CartonizerTest.
+ *
+ * @author Heiko Scherrer
+ */
+class CartonizerTest {
+
+    private static final CartonType<String> SMALL = CartonType.of("S", Dimension.of(20, 20, 20, CM), Weight.of(5, KG));
+    private static final CartonType<String> MEDIUM = CartonType.of("M", Dimension.of(40, 30, 30, CM), Weight.of(20, KG));
+    private static final CartonType<String> LARGE = CartonType.of("L", Dimension.of(60, 40, 40, CM), Weight.of(30, KG));
+
+    @Test
+    void chooseSmallestCarton() {
+        Cartonizer<String, String> cartonizer = Cartonizer.of(List.of(LARGE, SMALL, MEDIUM));
+        var packing = cartonizer.pack(List.of(Item.of("A", Dimension.of(10, 10, 10, CM), Weight.of(500, G), Piece.of(4))));
+        assertThat(packing.isComplete()).isTrue();
+        assertThat(packing.getCartons()).hasSize(1);
+        var carton = packing.getCartons().get(0);
+        assertThat(carton.getCartonType().getId()).isEqualTo("S");
+        assertThat(carton.getContents()).containsEntry("A", Piece.of(4));
+        assertThat(carton.getWeight()).isEqualTo(Weight.of(2, KG));
+        assertThat(carton.getPlacements()).hasSize(4);
+    }
+
+    @Test
+    void weightLimitSelectsLargerCarton() {
+        Cartonizer<String, String> cartonizer = Cartonizer.of(List.of(SMALL, MEDIUM, LARGE));
+        var packing = cartonizer.pack(List.of(Item.of("A", Dimension.of(10, 10, 10, CM), Weight.of(1, KG), Piece.of(10))));
+        assertThat(packing.getCartons()).hasSize(1);
+        assertThat(packing.getCartons().get(0).getCartonType().getId()).isEqualTo("M");
+    }
+
+    @Test
+    void splitIntoSeveralCartons() {
+        Cartonizer<String, String> cartonizer = Cartonizer.of(List.of(MEDIUM));
+        var packing = cartonizer.pack(List.of(Item.of("A", Dimension.of(20, 15, 15, CM), Weight.of(1, KG), Piece.of(30))));
+        assertThat(packing.isComplete()).isTrue();
+        assertThat(packing.getCartons()).hasSize(4);
+        assertThat(packing.getCartons().stream().mapToInt(c -> c.getPlacements().size()).sum()).isEqualTo(30);
+        for (var carton : packing.getCartons()) {
+            assertNoOverlap(carton);
+        }
+    }
+
+    @Test
+    void rotatePieces() {
+        var tube = CartonType.of("T", Dimension.of(10, 10, 100, CM), Weight.of(10, KG));
+        Cartonizer<String, String> cartonizer = Cartonizer.of(List.of(tube));
+        var packing = cartonizer.pack(List.of(Item.of("R", Dimension.of(90, 10, 10, CM), Weight.of(1, KG))));
+        assertThat(packing.isComplete()).isTrue();
+        assertThat(packing.getCartons().get(0).getPlacements().get(0).getDimension()).isEqualTo(Dimension.of(10, 10, 90, CM));
+    }
+
+    @Test
+    void reportPiecesThatFitNowhere() {
+        Cartonizer<String, String> cartonizer = Cartonizer.of(List.of(SMALL, LARGE), Duration.ZERO, ForkJoinPool.commonPool());
+        var packing = cartonizer.pack(List.of(
+                Item.of("A", Dimension.of(10, 10, 10, CM), Weight.of(1, KG), Piece.of(2)),
+                Item.of("X", Dimension.of(1, 1, 1, M), Weight.of(1, KG)),
+                Item.of("H", Dimension.of(10, 10, 10, CM), Weight.of(40, KG))));
+        assertThat(packing.isComplete()).isFalse();
+        assertThat(packing.getUnpacked()).containsEntry("X", Piece.of(1));
+        assertThat(packing.getUnpacked()).containsEntry("H", Piece.of(1));
+        assertThat(packing.getCartons()).hasSize(1);
+        assertThat(packing.getCartons().get(0).getContents()).containsEntry("A", Piece.of(2));
+    }
+
+    @Test
+    void rejectInvalidInput() {
+        assertThatThrownBy(() -> Cartonizer.of(List.of())).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> Item.of("A", Dimension.of(1, 1, 1, CM), Weight.of(1, G), Piece.of(new BigDecimal("1.5"))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private static void assertNoOverlap(PackedCarton<String, String> carton) {
+        var placements = carton.getPlacements();
+        for (var i = 0; i < placements.size(); i++) {
+            for (var j = i + 1; j < placements.size(); j++) {
+                assertThat(overlap(placements.get(i), placements.get(j))).isFalse();
+            }
+        }
+    }
+
+    private static boolean overlap(Placement<?> a, Placement<?> b) {
+        return overlap(a.getX(), a.getDimension().getLength(), b.getX(), b.getDimension().getLength())
+                && overlap(a.getY(), a.getDimension().getWidth(), b.getY(), b.getDimension().getWidth())
+                && overlap(a.getZ(), a.getDimension().getHeight(), b.getZ(), b.getDimension().getHeight());
+    }
+
+    private static boolean overlap(MetricDimension start1, MetricDimension length1,
+            MetricDimension start2, MetricDimension length2) {
+        var s1 = start1.getMagnitude();
+        var s2 = start2.getMagnitude();
+        return s1.compareTo(s2.add(length2.getMagnitude())) < 0 && s2.compareTo(s1.add(length1.getMagnitude())) < 0;
+    }
+}
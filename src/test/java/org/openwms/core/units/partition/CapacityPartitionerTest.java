@@ -0,0 +1,78 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.partition;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.Measurable;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.Weight;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openwms.core.units.api.WeightUnit.G;
+import static org.openwms.core.units.api.WeightUnit.KG;
+
+/**
+ * A CapacityPartitionerTest.
+ *
+ * @author Heiko Scherrer
+ */
+class CapacityPartitionerTest {
+
+    private record Line(String id, Weight weight, Piece pieces) {}
+
+    @Test
+    void splitByWeightAndPieces() {
+        var lines = List.of(
+                new Line("1", Weight.of(8, KG), Piece.of(10)),
+                new Line("2", Weight.of(8, KG), Piece.of(10)),
+                new Line("3", Weight.of(8, KG), Piece.of(10)),
+                new Line("4", Weight.of(500, G), Piece.of(25)),
+                new Line("5", Weight.of(500, G), Piece.of(10)),
+                new Line("6", Weight.of(25, KG), Piece.of(1)),
+                new Line("7", Weight.of(1, KG), Piece.of(1)));
+        var partitioner = CapacityPartitioner.of(Weight.of(20, KG), Piece.of(40));
+        List<Function<? super Line, ? extends Measurable<?, ?, ?>>> quantities = List.of(Line::weight, Line::pieces);
+        var starts = partitioner.split(lines, quantities);
+        assertThat(starts).containsExactly(0, 2, 4, 5, 6);
+        assertThat(CapacityPartitioner.toBatches(lines, starts).get(1).stream().map(Line::id).toList()).containsExactly("3", "4");
+    }
+
+    @Test
+    void splitLongSequenceInParallel() {
+        var n = CapacityPartitioner.PARALLEL_THRESHOLD * 4;
+        var column = new long[n];
+        Arrays.fill(column, 3_000);
+        var starts = CapacityPartitioner.of(Piece.of(10)).splitFixed(column);
+        assertThat(starts.length).isEqualTo((n + 2) / 3);
+        assertThat(starts[1]).isEqualTo(3);
+        assertThat(starts[starts.length - 1]).isEqualTo(3 * (starts.length - 1));
+    }
+
+    @Test
+    void emptyAndInvalidInput() {
+        assertThat(CapacityPartitioner.of(Piece.of(1)).splitFixed(new long[0])).isEmpty();
+        assertThatThrownBy(() -> CapacityPartitioner.of(Piece.of(1)).splitFixed(new long[]{-1}))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> CapacityPartitioner.of(Piece.of(1)).split(List.of(Weight.of(1, KG)), List.of(w -> w)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(CapacityPartitioner::of).isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.persistence;
+
+import org.hibernate.metamodel.spi.ValueAccess;
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.MetricDimension;
+import org.openwms.core.units.api.Weight;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openwms.core.units.api.MetricDimensionUnit.MM;
+import static org.openwms.core.units.api.WeightUnit.G;
+import static org.openwms.core.units.api.WeightUnit.KG;
+import static org.openwms.core.units.api.WeightUnit.MG;
+import static org.openwms.core.units.api.WeightUnit.T;
+
+/**
+ * A NormalizedUnitUserTypeTest.
+ *
+ * @author Heiko Scherrer
+ */
+class NormalizedUnitUserTypeTest {
+
+    private final NormalizedUnitUserType testee = new NormalizedUnitUserType();
+
+    @Test
+    void writeBaseColumn() {
+        var weight = Weight.of(new BigDecimal("1.5"), KG);
+        assertThat(testee.getPropertyValue(weight, 0)).isEqualTo(1_500_000L);
+        assertThat(testee.getPropertyValue(weight, 1)).isEqualTo(new BigDecimal("1.5"));
+        assertThat(testee.getPropertyValue(weight, 2)).isEqualTo((short) 0x22);
+        assertThat(testee.getPropertyValue(MetricDimension.of(40, MM), 0)).isEqualTo(40L);
+    }
+
+    @Test
+    void keepSubResolutionUnits() {
+        assertThat(NormalizedUnitUserType.baseFixedOf(MetricDimension.of(1, MM))).isEqualTo(1L);
+        assertThat(NormalizedUnitUserType.baseFixedOf(Weight.of(1, MG))).isEqualTo(1L);
+        assertThat(NormalizedUnitUserType.baseFixedOf(Weight.of(0, MG))).isEqualTo(0L);
+    }
+
+    @Test
+    void baseValuesOrderAcrossUnits() {
+        assertThat(NormalizedUnitUserType.baseFixedOf(Weight.of(5, KG)))
+                .isGreaterThan(NormalizedUnitUserType.baseFixedOf(Weight.of(4999, G)));
+        assertThat(NormalizedUnitUserType.baseFixedOf(Weight.of(1, T))).isEqualTo(1_000_000_000L);
+    }
+
+    @Test
+    void hydrateIgnoringBaseColumn() {
+        ValueAccess row = () -> new Object[]{1_500_000L, new BigDecimal("1.500"), (short) 0x22};
+        var hydrated = testee.instantiate(row, null);
+        assertThat(hydrated).isEqualTo(Weight.of(new BigDecimal("1.5"), KG));
+        assertThat(hydrated.getUnitType()).isEqualTo(KG);
+    }
+}
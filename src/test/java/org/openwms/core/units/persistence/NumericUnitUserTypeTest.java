@@ -0,0 +1,86 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.persistence;
+
+import jakarta.persistence.Column;
+import org.hibernate.TypeMismatchException;
+import org.hibernate.metamodel.spi.ValueAccess;
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.Weight;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openwms.core.units.api.PieceUnit.DOZ;
+import static org.openwms.core.units.api.WeightUnit.KG;
+
+/**
+ * A NumericUnitUserTypeTest.
+ *
+ * @author Heiko Scherrer
+ */
+class NumericUnitUserTypeTest {
+
+    private final NumericUnitUserType testee = new NumericUnitUserType();
+
+    @Test
+    void writeAndHydrateColumns() {
+        var weight = Weight.of(new BigDecimal("1.5"), KG);
+        assertThat(testee.getPropertyValue(weight, 0)).isEqualTo(new BigDecimal("1.5"));
+        assertThat(testee.getPropertyValue(weight, 1)).isEqualTo((short) 0x22);
+
+        ValueAccess row = () -> new Object[]{new BigDecimal("1.500000"), (short) 0x22};
+        var hydrated = testee.instantiate(row, null);
+        assertThat(hydrated).isEqualTo(weight);
+        assertThat(testee.equals(hydrated, weight)).isTrue();
+        assertThat(testee.hashCode(hydrated)).isEqualTo(testee.hashCode(weight));
+        assertThat(testee.instantiate(() -> new Object[]{null, null}, null)).isNull();
+    }
+
+    @Test
+    void tolerateMissingMagnitude() {
+        var weight = Weight.of((BigDecimal) null, KG);
+        assertThat(testee.hashCode(weight)).isEqualTo(testee.hashCode(Weight.of((BigDecimal) null, KG)));
+        assertThat(testee.equals(weight, Weight.of((BigDecimal) null, KG))).isTrue();
+        assertThat(testee.equals(weight, Weight.of(1, KG))).isFalse();
+        assertThat(testee.equals(Weight.of(1, KG), weight)).isFalse();
+    }
+
+    @Test
+    void declareMagnitudeColumnWithDecimals() throws Exception {
+        var column = NumericUnitUserType.MeasurableMapper.class.getDeclaredField("magnitude").getAnnotation(Column.class);
+        assertThat(column.precision()).isEqualTo(NumericUnitUserType.PRECISION);
+        assertThat(column.scale()).isEqualTo(NumericUnitUserType.SCALE);
+        assertThat(new BigDecimal("1.234").setScale(column.scale())).isEqualByComparingTo(new BigDecimal("1.234"));
+    }
+
+    @Test
+    void assembleDisassembled() {
+        var piece = Piece.of(2, DOZ);
+        assertThat(testee.assemble(testee.disassemble(piece), null)).isEqualTo(piece);
+    }
+
+    @Test
+    void readLegacyColumnsWithDecimals() {
+        assertThat(NumericUnitUserType.fromLegacy("1.5", "KG@org.openwms.core.units.api.Weight"))
+                .isEqualTo(Weight.of(new BigDecimal("1.5"), KG));
+        assertThat(NumericUnitUserType.fromLegacy("2", "DOZ@org.openwms.core.units.api.Piece")).isEqualTo(Piece.of(2, DOZ));
+        assertThat(NumericUnitUserType.fromLegacy("2", null)).isNull();
+        assertThatThrownBy(() -> NumericUnitUserType.fromLegacy("2", "XY@foo")).isInstanceOf(TypeMismatchException.class);
+    }
+}
@@ -0,0 +1,101 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.reconciliation;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.PieceUnit;
+import org.openwms.core.units.api.Weight;
+import org.openwms.core.units.api.WeightUnit;
+import org.openwms.core.units.verification.Direction;
+import org.openwms.core.units.verification.Tolerance;
+
+import java.util.Map;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openwms.core.units.api.PieceUnit.DOZ;
+import static org.openwms.core.units.api.PieceUnit.PC;
+import static org.openwms.core.units.api.WeightUnit.G;
+import static org.openwms.core.units.api.WeightUnit.KG;
+
+/**
+ * A ReconcilerTest.
+ *
+ * @author Heiko Scherrer
+ */
+class ReconcilerTest {
+
+    @Test
+    void mergeSortedInputsWithDifferentUnits() {
+        Reconciler<String, Piece, PieceUnit> reconciler = Reconciler.of(PC, Tolerance.NONE);
+        var expected = Stream.of(Map.entry("A", Piece.of(2, DOZ)), Map.entry("B", Piece.of(5)), Map.entry("C", Piece.of(3)));
+        var counted = Stream.of(Map.entry("A", Piece.of(24)), Map.entry("C", Piece.of(1)), Map.entry("C", Piece.of(1)),
+                Map.entry("D", Piece.of(1, DOZ)));
+
+        var differences = reconciler.merge(expected, counted).toList();
+
+        assertThat(differences.stream().map(Difference::getKey).toList()).containsExactly("B", "C", "D");
+        assertThat(differences.get(0).getCounted()).isEqualTo(Piece.of(0));
+        assertThat(differences.get(0).getDirection()).isEqualTo(Direction.UNDER);
+        assertThat(differences.get(1).getDeviation()).isEqualTo(Piece.of(-1));
+        assertThat(differences.get(2).getDeviationFixed()).isEqualTo(12_000);
+        assertThat(differences.get(2).getDirection()).isEqualTo(Direction.OVER);
+    }
+
+    @Test
+    void mergeIgnoresDifferencesWithinTolerance() {
+        Reconciler<String, Weight, WeightUnit> reconciler = Reconciler.of(G, Tolerance.absolute(Weight.of(10, G)));
+        var expected = Stream.of(Map.entry("A", Weight.of(1, KG)), Map.entry("B", Weight.of(1, KG)));
+        var counted = Stream.of(Map.entry("A", Weight.of(1010, G)), Map.entry("B", Weight.of(989, G)));
+
+        var differences = reconciler.merge(expected, counted).toList();
+
+        assertThat(differences).hasSize(1);
+        assertThat(differences.get(0).getKey()).isEqualTo("B");
+        assertThat(differences.get(0).getDeviation()).isEqualTo(Weight.of(-11, G));
+    }
+
+    @Test
+    void mergeRejectsUnsortedInput() {
+        Reconciler<String, Piece, PieceUnit> reconciler = Reconciler.of(PC, Tolerance.NONE);
+        var expected = Stream.of(Map.entry("B", Piece.of(1)), Map.entry("A", Piece.of(1)));
+
+        assertThatThrownBy(() -> reconciler.merge(expected, Stream.<Map.Entry<String, Piece>>empty()).toList())
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void reconcileUnsortedInputsInParallel() {
+        Reconciler<Integer, Piece, PieceUnit> reconciler = Reconciler.of(PC, Tolerance.NONE);
+        var expected = IntStream.range(0, 20_000).mapToObj(i -> Map.entry(i, Piece.of(1, DOZ)));
+        var counted = IntStream.range(0, 20_000).map(i -> 19_999 - i).filter(i -> i != 42)
+                .mapToObj(i -> Map.entry(i, Piece.of(i == 7 ? 13 : 12)));
+
+        var differences = reconciler.reconcile(expected, counted);
+
+        assertThat(differences.stream().map(Difference::getKey).toList()).containsExactly(7, 42);
+        assertThat(differences.get(1).getExpected()).isEqualTo(Piece.of(12));
+    }
+
+    @Test
+    void rejectToleranceOfOtherDimension() {
+        assertThatThrownBy(() -> Reconciler.of(PC, Tolerance.absolute(Weight.of(1, G))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
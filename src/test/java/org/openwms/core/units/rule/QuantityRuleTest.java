@@ -0,0 +1,100 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.rule;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.MetricDimension;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.Volume;
+import org.openwms.core.units.api.Weight;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openwms.core.units.api.MetricDimensionUnit.CM;
+import static org.openwms.core.units.api.MetricDimensionUnit.M;
+import static org.openwms.core.units.api.PieceUnit.DOZ;
+import static org.openwms.core.units.api.PieceUnit.PC;
+import static org.openwms.core.units.api.VolumeUnit.L;
+import static org.openwms.core.units.api.VolumeUnit.M3;
+import static org.openwms.core.units.api.WeightUnit.KG;
+import static org.openwms.core.units.api.WeightUnit.T;
+
+/**
+ * A QuantityRuleTest.
+ *
+ * @author Heiko Scherrer
+ */
+class QuantityRuleTest {
+
+    @Test
+    void compileAndTest() {
+        var stock = QuantityRule.compile("stock < 2 DOZ");
+        assertThat(stock.getSubject()).isEqualTo("stock");
+        assertThat(stock.getOperator()).isEqualTo(Operator.LT);
+        assertThat(stock.test(Piece.of(23))).isTrue();
+        assertThat(stock.test(Piece.of(24))).isFalse();
+        assertThat(stock.test(Piece.of(new BigDecimal("1.5"), DOZ))).isTrue();
+
+        var weight = QuantityRule.compile("weight>=0.5 T");
+        assertThat(weight.test(Weight.of(500, KG))).isTrue();
+        assertThat(weight.test(Weight.of(new BigDecimal("499.999"), KG))).isFalse();
+
+        var height = QuantityRule.compile("> 180 CM");
+        assertThat(height.getSubject()).isNull();
+        assertThat(height.test(MetricDimension.of(new BigDecimal("1.81"), M))).isTrue();
+        assertThat(height.toString()).isEqualTo("> 180 CM");
+    }
+
+    @Test
+    void compileVolumeRule() {
+        var volume = QuantityRule.compile("volume <= 2 M3");
+        assertThat(volume.getThreshold()).isEqualTo(Volume.of(2, M3));
+        assertThat(volume.test(Volume.of(2000, L))).isTrue();
+        assertThat(volume.test(Volume.of(2001, L))).isFalse();
+        assertThat(QuantityRule.compile("> 500 CM3").appliesTo(L)).isTrue();
+    }
+
+    @Test
+    void evaluateColumns() {
+        var rule = QuantityRule.of(Operator.LE, Piece.of(1, DOZ));
+        long[] column = {FixedPoint.toFixed(Piece.of(5)), FixedPoint.toFixed(Piece.of(13)), FixedPoint.toFixed(Piece.of(12, PC))};
+        var result = new boolean[column.length];
+        assertThat(rule.testAll(column, result)).isEqualTo(2);
+        assertThat(result).containsExactly(true, false, true);
+
+        var positions = new int[column.length];
+        assertThat(rule.select(column, positions)).isEqualTo(2);
+        assertThat(positions[0]).isEqualTo(0);
+        assertThat(positions[1]).isEqualTo(2);
+    }
+
+    @Test
+    void rejectInvalidRules() {
+        assertThatThrownBy(() -> QuantityRule.compile("stock << 2 PC")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> QuantityRule.compile("stock < 2 XY")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> QuantityRule.compile("weight < 2 KG").test(Weight.of(new BigDecimal("0.0000000001"), KG)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> QuantityRule.compile("weight < 0.0001 G")).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> QuantityRule.compile("height > 1 M").test(Weight.of(1, KG)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThat(QuantityRule.compile("weight = 1 T").test(Weight.of(1000, KG))).isTrue();
+        assertThat(QuantityRule.compile("height != 1 M").appliesTo(CM)).isTrue();
+        assertThat(QuantityRule.compile("height != 1 M").appliesTo(T)).isFalse();
+    }
+}
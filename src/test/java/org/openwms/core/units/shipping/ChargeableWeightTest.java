@@ -0,0 +1,80 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.shipping;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.Dimension;
+import org.openwms.core.units.api.Volume;
+import org.openwms.core.units.api.Weight;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openwms.core.units.api.MetricDimensionUnit.CM;
+import static org.openwms.core.units.api.VolumeUnit.L;
+import static org.openwms.core.units.api.WeightUnit.G;
+import static org.openwms.core.units.api.WeightUnit.KG;
+
+/**
+ * A ChargeableWeightTest.
+ *
+ * @author Heiko Scherrer
+ */
+class ChargeableWeightTest {
+
+    @Test
+    void volumetricAndChargeableWeight() {
+        var rating = ChargeableWeight.ofDivisor(5000);
+        var parcel = Dimension.of(50, 40, 30, CM);
+        assertThat(rating.volumetricWeight(parcel)).isEqualTo(Weight.of(12, KG));
+        assertThat(rating.volumetricWeight(Volume.of(60, L))).isEqualTo(Weight.of(12, KG));
+        assertThat(rating.chargeableWeight(parcel, Weight.of(8, KG))).isEqualTo(Weight.of(12, KG));
+        assertThat(rating.chargeableWeight(parcel, Weight.of(15, KG))).isEqualTo(Weight.of(15, KG));
+        assertThat(rating.chargeableWeight(parcel, Weight.of(8, KG)).getUnitType()).isEqualTo(KG);
+    }
+
+    @Test
+    void roundUpToIncrement() {
+        var rating = ChargeableWeight.ofDivisor(6000).roundingUpTo(Weight.of(500, G));
+        assertThat(rating.chargeableWeight(Dimension.of(31, 21, 11, CM), Weight.of(new BigDecimal("0.2"), KG)))
+                .isEqualTo(Weight.of(new BigDecimal("1.5"), KG));
+        assertThat(rating.chargeableWeight(Dimension.of(10, 10, 10, CM), Weight.of(2, KG))).isEqualTo(Weight.of(2, KG));
+    }
+
+    @Test
+    void batch() {
+        var rating = ChargeableWeight.ofDivisor(5000);
+        long[] lengths = {500, 100, 1000};
+        long[] widths = {400, 100, 1000};
+        long[] heights = {300, 100, 1000};
+        var volumes = new long[3];
+        ChargeableWeight.volumesFixed(lengths, widths, heights, volumes);
+        assertThat(volumes).containsExactly(60_000_000, 1_000_000, 1_000_000_000);
+
+        long[] actual = {FixedPoint.toFixed(Weight.of(8, KG)), FixedPoint.toFixed(Weight.of(1, KG)), FixedPoint.toFixed(Weight.of(150, KG))};
+        var result = new long[3];
+        rating.chargeableFixed(volumes, actual, result);
+        assertThat(result).containsExactly(12_000_000, 1_000_000, 200_000_000);
+    }
+
+    @Test
+    void rejectInvalidFactor() {
+        assertThatThrownBy(() -> ChargeableWeight.ofDivisor(0)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> ChargeableWeight.ofDivisor(5000).roundingUpTo(Weight.of(0, G))).isInstanceOf(IllegalArgumentException.class);
+    }
+}
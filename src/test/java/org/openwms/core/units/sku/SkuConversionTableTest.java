@@ -0,0 +1,82 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.sku;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.Volume;
+import org.openwms.core.units.api.Weight;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openwms.core.units.api.PieceUnit.DOZ;
+import static org.openwms.core.units.api.VolumeUnit.CM3;
+import static org.openwms.core.units.api.VolumeUnit.L;
+import static org.openwms.core.units.api.WeightUnit.G;
+import static org.openwms.core.units.api.WeightUnit.KG;
+
+/**
+ * A SkuConversionTableTest.
+ *
+ * @author Heiko Scherrer
+ */
+class SkuConversionTableTest {
+
+    @Test
+    void convertPerSku() {
+        SkuConversionTable<String> table = SkuConversionTable.create();
+        table.put("A", Weight.of(new BigDecimal("0.35"), KG), Volume.of(500, CM3), Piece.of(24));
+        table.put("B", Weight.of(20, G), null, Piece.of(1, DOZ));
+        assertThat(table.size()).isEqualTo(2);
+
+        assertThat(table.toWeight("A", Piece.of(10), KG)).isEqualTo(Weight.of(new BigDecimal("3.5"), KG));
+        assertThat(table.toWeight("A", Piece.of(1, DOZ), G)).isEqualTo(Weight.of(4200, G));
+        assertThat(table.toPieces("A", Weight.of(7, KG))).isEqualTo(Piece.of(20));
+        assertThat(table.toVolume("A", Piece.of(24), L)).isEqualTo(Volume.of(12, L));
+        assertThat(table.casesToPieces("A", 3)).isEqualTo(Piece.of(72));
+        assertThat(table.fullCases("B", Piece.of(30))).isEqualTo(2);
+    }
+
+    @Test
+    void convertOrderLinesInBulk() {
+        SkuConversionTable<String> table = SkuConversionTable.create(1);
+        for (var i = 0; i < 1000; i++) {
+            table.put("SKU" + i, Weight.of(i + 1, G), Volume.of(1, CM3), null);
+        }
+        var slots = new int[3];
+        table.slotsOf(List.of("SKU0", "SKU9", "SKU999"), slots);
+        long[] pieces = {FixedPoint.toFixed(Piece.of(5)), FixedPoint.toFixed(Piece.of(2)), FixedPoint.toFixed(Piece.of(1))};
+        var weights = new long[3];
+        assertThat(table.toWeightsFixed(slots, pieces, weights)).isEqualTo(1_025_000);
+        assertThat(weights).containsExactly(5_000, 20_000, 1_000_000);
+        var volumes = new long[3];
+        assertThat(table.toVolumesFixed(slots, pieces, volumes)).isEqualTo(8_000);
+    }
+
+    @Test
+    void rejectMissingFactors() {
+        SkuConversionTable<String> table = SkuConversionTable.create();
+        table.put("B", Weight.of(20, G), null, null);
+        assertThatThrownBy(() -> table.toVolume("B", Piece.of(1), L)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> table.fullCases("B", Piece.of(1))).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> table.toWeight("X", Piece.of(1), G)).isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> table.put("C", Weight.of(0, G), null, null)).isInstanceOf(IllegalArgumentException.class);
+    }
+}
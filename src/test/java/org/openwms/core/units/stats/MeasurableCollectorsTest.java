@@ -0,0 +1,94 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.stats;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.MetricDimension;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.Weight;
+
+import java.math.BigDecimal;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.openwms.core.units.api.MetricDimensionUnit.CM;
+import static org.openwms.core.units.api.MetricDimensionUnit.M;
+import static org.openwms.core.units.api.MetricDimensionUnit.MM;
+import static org.openwms.core.units.api.PieceUnit.DOZ;
+import static org.openwms.core.units.api.PieceUnit.PC;
+import static org.openwms.core.units.api.WeightUnit.G;
+import static org.openwms.core.units.api.WeightUnit.KG;
+import static org.openwms.core.units.api.WeightUnit.T;
+
+/**
+ * A MeasurableCollectorsTest.
+ *
+ * @author Heiko Scherrer
+ */
+class MeasurableCollectorsTest {
+
+    @Test
+    void summarizingPiecesOfMixedUnits() {
+        var stats = Stream.of(Piece.of(30), Piece.of(2, DOZ), Piece.of(6))
+                .collect(MeasurableCollectors.summarizingPieces(PC));
+        assertThat(stats.getCount()).isEqualTo(3L);
+        assertThat(stats.getSum()).isEqualTo(Piece.of(60));
+        assertThat(stats.getMin()).hasValue(Piece.of(6));
+        assertThat(stats.getMax()).hasValue(Piece.of(30));
+        assertThat(stats.getAverage()).hasValue(Piece.of(20));
+        assertThat(stats.getSum().convertTo(DOZ)).isEqualTo(Piece.of(5, DOZ));
+    }
+
+    @Test
+    void summarizingEmptyStream() {
+        var stats = Stream.<Weight>empty().collect(MeasurableCollectors.summarizingWeights(KG));
+        assertThat(stats.getCount()).isEqualTo(0L);
+        assertThat(stats.getSum().isZero()).isTrue();
+        assertThat(stats.getMin()).isEmpty();
+        assertThat(stats.getMax()).isEmpty();
+        assertThat(stats.getAverage()).isEmpty();
+    }
+
+    @Test
+    void summarizingWeightsInTargetUnit() {
+        var stats = Stream.of(Weight.of(1, T), Weight.of(500, G), Weight.of(new BigDecimal("1.5"), KG))
+                .collect(MeasurableCollectors.summarizingWeights(KG));
+        assertThat(stats.getSum().getMagnitude()).isEqualTo(new BigDecimal("1002"));
+        assertThat(stats.getSum().getUnitType()).isEqualTo(KG);
+        assertThat(stats.getMin().orElseThrow().getMagnitude()).isEqualTo(new BigDecimal("0.5"));
+        assertThat(stats.getMax().orElseThrow().getMagnitude()).isEqualTo(new BigDecimal("1000"));
+        assertThat(stats.getAverage().orElseThrow().getMagnitude()).isEqualTo(new BigDecimal("334"));
+    }
+
+    @Test
+    void summarizingMetricDimensions() {
+        var stats = Stream.of(MetricDimension.of(1, M), MetricDimension.of(25, CM), MetricDimension.of(5, MM))
+                .collect(MeasurableCollectors.summarizingMetricDimensions(MM));
+        assertThat(stats.getSum().getMagnitude()).isEqualTo(new BigDecimal("1255"));
+        assertThat(stats.getMin().orElseThrow().getMagnitude()).isEqualTo(new BigDecimal("5"));
+        assertThat(stats.getMax().orElseThrow().getMagnitude()).isEqualTo(new BigDecimal("1000"));
+    }
+
+    @Test
+    void summingParallelIsExact() {
+        var sum = IntStream.range(0, 100_000)
+                .parallel()
+                .mapToObj(i -> i % 2 == 0 ? Weight.of(new BigDecimal("0.001"), KG) : Weight.of(1, G))
+                .collect(MeasurableCollectors.summing(KG));
+        assertThat(sum.getMagnitude()).isEqualTo(new BigDecimal("100"));
+    }
+}
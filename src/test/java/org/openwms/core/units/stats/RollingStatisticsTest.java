@@ -0,0 +1,151 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.stats;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.api.Weight;
+import org.openwms.core.units.api.WeightUnit;
+
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openwms.core.units.api.WeightUnit.G;
+import static org.openwms.core.units.api.WeightUnit.KG;
+
+/**
+ * A RollingStatisticsTest.
+ *
+ * @author Heiko Scherrer
+ */
+class RollingStatisticsTest {
+
+    private static final class TestClock extends Clock {
+        private long millis = 1_000_000;
+
+        void advance(Duration duration) {
+            millis += duration.toMillis();
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+    }
+
+    private RollingStatistics<Weight, WeightUnit> perMinute(TestClock clock) {
+        return RollingStatistics.of(G, Duration.ofSeconds(1), 60, Weight.of(0, G), Weight.of(1000, G), 100, clock);
+    }
+
+    @Test
+    void statisticsOfOneSecond() {
+        var clock = new TestClock();
+        var statistics = perMinute(clock);
+        for (var i = 1; i <= 100; i++) {
+            statistics.accept(Weight.of(i * 5, G));
+        }
+        statistics.accept(Weight.of(new BigDecimal("0.25"), KG));
+
+        var snapshot = statistics.snapshot(Duration.ofSeconds(1));
+        assertThat(snapshot.getCount()).isEqualTo(101L);
+        assertThat(snapshot.getSum()).isEqualTo(Weight.of(25500, G));
+        assertThat(snapshot.getMin()).hasValue(Weight.of(5, G));
+        assertThat(snapshot.getMax()).hasValue(Weight.of(500, G));
+        assertThat(snapshot.getP50().orElseThrow().getMagnitude()).isEqualTo(new BigDecimal("255"));
+        assertThat(snapshot.getP99().orElseThrow().getMagnitude()).isEqualTo(new BigDecimal("495"));
+    }
+
+    @Test
+    void bucketsRollOver() {
+        var clock = new TestClock();
+        var statistics = perMinute(clock);
+        statistics.accept(Weight.of(100, G));
+        clock.advance(Duration.ofSeconds(30));
+        statistics.accept(Weight.of(200, G));
+
+        assertThat(statistics.snapshot(Duration.ofSeconds(1)).getCount()).isEqualTo(1L);
+        assertThat(statistics.snapshot().getCount()).isEqualTo(2L);
+        assertThat(statistics.snapshot().getAverage()).hasValue(Weight.of(150, G));
+
+        clock.advance(Duration.ofSeconds(45));
+        assertThat(statistics.snapshot().getCount()).isEqualTo(1L);
+        clock.advance(Duration.ofMinutes(5));
+        assertThat(statistics.snapshot().getCount()).isEqualTo(0L);
+        assertThat(statistics.snapshot().getP95()).isEmpty();
+    }
+
+    @Test
+    void averageMatchesCumulativeStatistics() {
+        var statistics = perMinute(new TestClock());
+        var cumulative = new MeasurableSummaryStatistics<Weight, WeightUnit>(G);
+        for (var value : new int[]{1, 1, 2}) {
+            statistics.accept(Weight.of(value, G));
+            cumulative.accept(Weight.of(value, G));
+        }
+        assertThat(statistics.snapshot().getAverage()).isEqualTo(cumulative.getAverage());
+    }
+
+    @Test
+    void valuesOutsideOfTheHistogramRange() {
+        var clock = new TestClock();
+        var statistics = perMinute(clock);
+        statistics.accept(Weight.of(-3, G));
+        statistics.accept(Weight.of(5, KG));
+        var snapshot = statistics.snapshot();
+        assertThat(snapshot.getQuantile(0)).hasValue(Weight.of(-3, G));
+        assertThat(snapshot.getQuantile(1)).hasValue(Weight.of(5000, G));
+    }
+
+    @Test
+    void valuesAtTheBoundsOfTheHistogramRange() {
+        var clock = new TestClock();
+        var statistics = perMinute(clock);
+        statistics.accept(Weight.of(0, G));
+        statistics.accept(Weight.of(1000, G));
+        statistics.accept(Weight.of(1001, G));
+        var snapshot = statistics.snapshot();
+        assertThat(snapshot.getQuantile(0.3)).hasValue(Weight.of(5, G));
+        assertThat(snapshot.getQuantile(0.6)).hasValue(Weight.of(995, G));
+        assertThat(snapshot.getQuantile(1)).hasValue(Weight.of(1001, G));
+    }
+
+    @Test
+    void rejectTooLargeHistogramRange() {
+        var highest = Weight.of(BigDecimal.valueOf(Long.MAX_VALUE / 1000), G);
+        assertThatThrownBy(() -> RollingStatistics.of(G, Duration.ofSeconds(1), 60, Weight.of(0, G), highest, 100))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
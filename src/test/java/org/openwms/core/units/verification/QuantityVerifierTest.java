@@ -0,0 +1,88 @@
+/*
+ * Copyright 2005-2023 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.openwms.core.units.verification;
+
+import org.junit.jupiter.api.Test;
+import org.openwms.core.units.FixedPoint;
+import org.openwms.core.units.api.MetricDimension;
+import org.openwms.core.units.api.MetricDimensionUnit;
+import org.openwms.core.units.api.Piece;
+import org.openwms.core.units.api.Weight;
+import org.openwms.core.units.api.WeightUnit;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.openwms.core.units.api.MetricDimensionUnit.CM;
+import static org.openwms.core.units.api.MetricDimensionUnit.MM;
+import static org.openwms.core.units.api.WeightUnit.G;
+import static org.openwms.core.units.api.WeightUnit.KG;
+
+/**
+ * A QuantityVerifierTest.
+ *
+ * @author Heiko Scherrer
+ */
+class QuantityVerifierTest {
+
+    @Test
+    void verifyWeightWithAbsoluteAndPercentTolerance() {
+        QuantityVerifier<Weight, WeightUnit> verifier = QuantityVerifier.of(Weight.of(2, KG),
+                Tolerance.of(Weight.of(50, G), BigDecimal.valueOf(2)));
+        assertThat(verifier.getLowerLimit()).isEqualTo(Weight.of(1950, G));
+        assertThat(verifier.getUpperLimit()).isEqualTo(Weight.of(2050, G));
+
+        var over = verifier.verify(Weight.of(2051, G));
+        assertThat(over.isAccepted()).isFalse();
+        assertThat(over.getDirection()).isEqualTo(Direction.OVER);
+        assertThat(over.getDeviation()).isEqualTo(Weight.of(51, G));
+        assertThat(over.getDeviation().getUnitType()).isEqualTo(KG);
+
+        var under = verifier.verify(Weight.of(new BigDecimal("1.9"), KG));
+        assertThat(under.getDirection()).isEqualTo(Direction.UNDER);
+        assertThat(under.getDeviation()).isEqualTo(Weight.of(-100, G));
+        assertThat(verifier.accepts(Weight.of(1950, G))).isTrue();
+    }
+
+    @Test
+    void verifyAsymmetricPercentTolerance() {
+        QuantityVerifier<Weight, WeightUnit> verifier = QuantityVerifier.of(Weight.of(10, KG), Tolerance.NONE,
+                Tolerance.percent(BigDecimal.valueOf(5)));
+        var results = verifier.verifyAll(List.of(Weight.of(9999, G), Weight.of(10500, G), Weight.of(10501, G)));
+        assertThat(results.stream().map(Verification::getDirection).toList()).containsExactly(Direction.UNDER, Direction.WITHIN, Direction.OVER);
+    }
+
+    @Test
+    void verifyFixedPointBatch() {
+        QuantityVerifier<MetricDimension, MetricDimensionUnit> verifier = QuantityVerifier.of(MetricDimension.of(40, CM),
+                Tolerance.absolute(MetricDimension.of(3, MM)));
+        long[] readings = {398, 403, 404, 396};
+        var deviations = new long[readings.length];
+        var directions = new Direction[readings.length];
+        assertThat(verifier.verifyAll(readings, deviations, directions)).isEqualTo(2);
+        assertThat(deviations).containsExactly(-2, 3, 4, -4);
+        assertThat(directions).containsExactly(Direction.WITHIN, Direction.WITHIN, Direction.OVER, Direction.UNDER);
+        assertThat(verifier.check(FixedPoint.toFixed(MetricDimension.of(new BigDecimal("39.7"), CM)))).isEqualTo(Direction.WITHIN);
+    }
+
+    @Test
+    void rejectToleranceOfOtherDimension() {
+        assertThatThrownBy(() -> QuantityVerifier.of(Weight.of(1, KG), Tolerance.absolute(Piece.of(1))))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}